@@ -0,0 +1,114 @@
+package org.example.dobroz.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.example.dobroz.entity.Booking;
+import org.example.dobroz.entity.Venue;
+import org.example.dobroz.security.jwt.AuthTokenFilter;
+import org.example.dobroz.security.jwt.JwtUtils;
+import org.example.dobroz.security.services.TokenDenylistService;
+import org.example.dobroz.security.services.TokenVersionService;
+import org.example.dobroz.security.services.UserDetailsServiceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Builds the application's beans by hand, with the same settings as application.properties,
+ * so benchmarks measure the code paths without a Spring context or a database.
+ */
+public final class BenchmarkFixtures {
+    public static final String JWT_SECRET = "a4t7w!z%C*F-JaNdRgUkXp2s5v8x/A?D(G+KbPeShVmYq3t6w9z$C&F)J@McQfTj";
+    public static final String JWT_COOKIE = "jwt-auth-token";
+    public static final int JWT_EXPIRATION_MS = 900_000;
+
+    public static final UserDetails USER = new User("bench-user", "{noop}password",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtUtils jwtUtils(int cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", JWT_EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCookie", JWT_COOKIE);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCacheSize", cacheSize);
+        // No revoked users: every token version is current
+        ReflectionTestUtils.setField(jwtUtils, "tokenVersionService", new TokenVersionService());
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    public static Authentication authentication() {
+        return new UsernamePasswordAuthenticationToken(USER, null, USER.getAuthorities());
+    }
+
+    public static AuthTokenFilter authTokenFilter(JwtUtils jwtUtils) {
+        AuthTokenFilter filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", inMemoryUserDetailsService());
+        ReflectionTestUtils.setField(filter, "tokenVersionService", new TokenVersionService());
+        ReflectionTestUtils.setField(filter, "tokenDenylistService", tokenDenylistService());
+        // In-memory registry: the filter's timers cost what they cost in production
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.init();
+        return filter;
+    }
+
+    // Empty denylist: every check is answered by the Bloom filter alone, as in production
+    public static TokenDenylistService tokenDenylistService() {
+        TokenDenylistService denylist = new TokenDenylistService();
+        ReflectionTestUtils.setField(denylist, "expectedEntries", 100_000);
+        ReflectionTestUtils.setField(denylist, "falsePositiveRate", 0.01);
+        denylist.init();
+        return denylist;
+    }
+
+    // Stands in for the users table so only the filter's own work is measured
+    public static UserDetailsServiceImpl inMemoryUserDetailsService() {
+        return new UserDetailsServiceImpl() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return USER;
+            }
+        };
+    }
+
+    // The same defaults Spring MVC applies to its JSON message converter
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    private static final String[] VENUE_TYPES = {"Football Turf", "Auditorium", "Banquet Hall", "Cricket Turf"};
+
+    public static Venue venue(int i) {
+        Venue venue = new Venue("Venue " + i, "Street " + i + ", Sector " + (i % 40), 50 + i % 450,
+                500 + (i % 20) * 250.0, VENUE_TYPES[i % VENUE_TYPES.length],
+                "https://images.example.com/venues/" + i + ".jpg");
+        venue.setId((long) i + 1);
+        return venue;
+    }
+
+    public static Booking booking(int i) {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 14, 18, 0);
+        Booking booking = new Booking(venue(i), "bench-user@example.com", start, start.plusHours(2), "CONFIRMED");
+        booking.setId((long) i + 1);
+        return booking;
+    }
+
+    public static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings");
+        request.setCookies(new Cookie(JWT_COOKIE, token));
+        return request;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.dobroz.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.dobroz.controller.BookingController.BookingRequest;
+import org.example.dobroz.controller.BookingController.BookingResponse;
+import org.example.dobroz.entity.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-booking work of BookingController outside the database: binding the request body,
+ * mapping the entity to its response DTO and writing that DTO out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMappingBenchmark {
+    private static final byte[] REQUEST_BODY = ("{\"venueId\":42,\"userEmail\":\"bench-user@example.com\","
+            + "\"date\":\"2025-06-14\",\"startTime\":\"18:00\",\"endTime\":\"20:00\",\"status\":\"CONFIRMED\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private Booking booking;
+    private BookingResponse response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        requestReader = objectMapper.readerFor(BookingRequest.class);
+        responseWriter = objectMapper.writerFor(BookingResponse.class);
+        booking = BenchmarkFixtures.booking(42);
+        response = BookingResponse.from(booking);
+    }
+
+    @Benchmark
+    public BookingRequest bindRequest() throws IOException {
+        return requestReader.readValue(REQUEST_BODY);
+    }
+
+    @Benchmark
+    public BookingResponse mapResponse() {
+        return BookingResponse.from(booking);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndWriteResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(BookingResponse.from(booking));
+    }
+}
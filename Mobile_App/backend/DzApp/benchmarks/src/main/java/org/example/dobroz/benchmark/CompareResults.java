@@ -0,0 +1,72 @@
+package org.example.dobroz.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Diffs two JMH JSON result files, e.g. the previous release's against this build's:
+ * <pre>
+ * java -cp ... org.example.dobroz.benchmark.CompareResults baseline.json target/jmh-result.json [thresholdPercent]
+ * </pre>
+ * Exits with status 1 when any benchmark got slower than the threshold (default 10%).
+ */
+public final class CompareResults {
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entry.getKey(), "-", now.score(), "new");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            // Throughput modes are better when higher; time modes when lower
+            double slowdown = now.higherIsBetter() ? -change : change;
+            boolean worse = slowdown > threshold;
+            regressed |= worse;
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.score(), now.score(),
+                    change, worse ? "  REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf("%-80s %14.3f %14s %9s%n", name, baseline.get(name).score(), "-", "removed");
+            }
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            String mode = run.path("mode").asText();
+            results.put(name.toString(), new Result(run.path("primaryMetric").path("score").asDouble(),
+                    "thrpt".equals(mode)));
+        }
+        return results;
+    }
+
+    private record Result(double score, boolean higherIsBetter) {
+    }
+}
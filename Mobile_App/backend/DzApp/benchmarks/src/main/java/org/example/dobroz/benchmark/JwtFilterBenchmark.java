@@ -0,0 +1,112 @@
+package org.example.dobroz.benchmark;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.example.dobroz.security.jwt.AuthTokenFilter;
+import org.example.dobroz.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its JWT cookie: the old two-pass validation against
+ * the shared parser, with and without the verified-token cache, and the stateless principal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private String token;
+    private LegacyJwtValidation legacy;
+    private JwtUtils uncached;
+    private JwtUtils cached;
+    private AuthTokenFilter uncachedFilter;
+    private AuthTokenFilter cachedFilter;
+    private AuthTokenFilter statelessFilter;
+    private UserDetailsService userDetailsService;
+
+    @Setup
+    public void setUp() {
+        legacy = new LegacyJwtValidation(BenchmarkFixtures.JWT_SECRET);
+        uncached = BenchmarkFixtures.jwtUtils(0);
+        cached = BenchmarkFixtures.jwtUtils(10_000);
+        token = cached.generateJwtToken(BenchmarkFixtures.authentication(), 0);
+        uncachedFilter = BenchmarkFixtures.authTokenFilter(uncached);
+        cachedFilter = BenchmarkFixtures.authTokenFilter(cached);
+        statelessFilter = BenchmarkFixtures.authTokenFilter(cached);
+        ReflectionTestUtils.setField(statelessFilter, "stateless", true);
+        userDetailsService = BenchmarkFixtures.inMemoryUserDetailsService();
+    }
+
+    @Benchmark
+    public String tokenLegacyTwoPass() {
+        return legacy.validateJwtToken(token) ? legacy.getUserNameFromJwtToken(token) : null;
+    }
+
+    @Benchmark
+    public String tokenSingleParse() {
+        return uncached.getValidatedClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public String tokenCached() {
+        return cached.getValidatedClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public Object filterLegacy() {
+        // Mirrors the old doFilterInternal body line for line
+        MockHttpServletRequest request = BenchmarkFixtures.requestWithToken(token);
+        String jwt = uncached.getJwtFromCookies(request);
+        if (jwt != null && legacy.validateJwtToken(jwt)) {
+            String username = legacy.getUserNameFromJwtToken(jwt);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Object filterSingleParse() throws ServletException, IOException {
+        uncachedFilter.doFilter(BenchmarkFixtures.requestWithToken(token), new MockHttpServletResponse(), NO_OP_CHAIN);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Object filterCached() throws ServletException, IOException {
+        cachedFilter.doFilter(BenchmarkFixtures.requestWithToken(token), new MockHttpServletResponse(), NO_OP_CHAIN);
+        return takeAuthentication();
+    }
+
+    // Principal built from the claims, with no user lookup at all
+    @Benchmark
+    public Object filterStateless() throws ServletException, IOException {
+        statelessFilter.doFilter(BenchmarkFixtures.requestWithToken(token), new MockHttpServletResponse(), NO_OP_CHAIN);
+        return takeAuthentication();
+    }
+
+    // Each invocation must start unauthenticated, as a real request thread would
+    private static Authentication takeAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
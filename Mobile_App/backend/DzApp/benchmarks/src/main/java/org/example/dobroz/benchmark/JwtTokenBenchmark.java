@@ -0,0 +1,52 @@
+package org.example.dobroz.benchmark;
+
+import io.jsonwebtoken.Claims;
+import org.example.dobroz.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and validating access tokens on their own, without the servlet filter around them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+    private JwtUtils uncached;
+    private JwtUtils cached;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = BenchmarkFixtures.jwtUtils(0);
+        cached = BenchmarkFixtures.jwtUtils(10_000);
+        authentication = BenchmarkFixtures.authentication();
+        token = uncached.generateJwtToken(authentication, 0);
+    }
+
+    @Benchmark
+    public String generate() {
+        return uncached.generateJwtToken(authentication, 0);
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return uncached.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return cached.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Claims claimsUncached() {
+        return uncached.getValidatedClaims(token);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.dobroz.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+
+/**
+ * The token handling AuthTokenFilter used before the shared parser and verified-token cache:
+ * a fresh HMAC key and parser for validation, then again for reading the subject.
+ */
+public class LegacyJwtValidation {
+    private final String jwtSecret;
+
+    public LegacyJwtValidation(String jwtSecret) {
+        this.jwtSecret = jwtSecret;
+    }
+
+    private Key key() {
+        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        try {
+            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key())
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+}
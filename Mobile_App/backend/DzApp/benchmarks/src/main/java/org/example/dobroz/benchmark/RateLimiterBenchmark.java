@@ -0,0 +1,49 @@
+package org.example.dobroz.benchmark;
+
+import org.example.dobroz.security.ratelimit.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the auth rate limiter, single-threaded and under contention on shared keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+    private static final int KEYS = 10_000;
+
+    private TokenBucketLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // Effectively unlimited, so every call runs the full refill-and-take path
+        limiter = new TokenBucketLimiter(1_000, 6_000_000);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long singleKey() {
+        return limiter.tryAcquire(keys[0]);
+    }
+
+    @Benchmark
+    public long spreadKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long contendedSingleKey() {
+        return limiter.tryAcquire(keys[0]);
+    }
+}
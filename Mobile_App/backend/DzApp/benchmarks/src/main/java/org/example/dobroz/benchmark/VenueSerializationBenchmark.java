@@ -0,0 +1,52 @@
+package org.example.dobroz.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.dobroz.entity.Venue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing GET /api/venues style payloads, from a single home-screen row up to the whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VenueSerializationBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<Venue> venues;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        listWriter = objectMapper.writerFor(new TypeReference<List<Venue>>() { });
+        venues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            venues.add(BenchmarkFixtures.venue(i));
+        }
+    }
+
+    // What a controller returning List<Venue> does: the type is resolved from the runtime value
+    @Benchmark
+    public byte[] writeWithMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(venues);
+    }
+
+    // A writer bound to the declared type up front skips the per-call serializer lookup
+    @Benchmark
+    public byte[] writeWithPreparedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(venues);
+    }
+}
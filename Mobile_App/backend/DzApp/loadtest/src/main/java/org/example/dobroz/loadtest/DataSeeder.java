@@ -0,0 +1,122 @@
+package org.example.dobroz.loadtest;
+
+import org.example.dobroz.entity.ERole;
+import org.example.dobroz.service.RoleCache;
+import org.example.dobroz.service.VenueCatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the embedded database with synthetic users, venues and bookings through plain JDBC batches.
+ * Every user shares one password hash, so seeding does not spend minutes in BCrypt.
+ */
+final class DataSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    static final String PASSWORD = "loadtest-password";
+    private static final String[] VENUE_TYPES = {"Football Turf", "Auditorium", "Banquet Hall", "Cricket Turf"};
+    private static final int BATCH_SIZE = 500;
+    private static final int PROBE_VENUES = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder encoder;
+    private final RoleCache roleCache;
+    private final VenueCatalogService venueCatalogService;
+
+    DataSeeder(ApplicationContext context) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.encoder = context.getBean(PasswordEncoder.class);
+        this.roleCache = context.getBean(RoleCache.class);
+        this.venueCatalogService = context.getBean(VenueCatalogService.class);
+    }
+
+    static String username(int i) {
+        return "lt-user-" + i;
+    }
+
+    static String email(int i) {
+        return "lt-user-" + i + "@loadtest.local";
+    }
+
+    void seedUsers(int count) {
+        String hash = encoder.encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{username(i), email(i), hash});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, token_version) VALUES (?, ?, ?, 0)",
+                rows, BATCH_SIZE, (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setString(2, (String) row[1]);
+                    ps.setString(3, (String) row[2]);
+                });
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT id, ? FROM users",
+                roleCache.get(ERole.ROLE_USER).getId());
+        logger.info("Seeded {} users", count);
+    }
+
+    List<Long> seedVenues(int count) {
+        List<Integer> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(i);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO venues (name, location, capacity, price, type, image_url) VALUES (?, ?, ?, ?, ?, ?)",
+                rows, BATCH_SIZE, (ps, i) -> {
+                    ps.setString(1, "Venue " + i);
+                    ps.setString(2, "Street " + i + ", Sector " + (i % 40));
+                    ps.setInt(3, 50 + i % 450);
+                    ps.setDouble(4, 500 + (i % 20) * 250.0);
+                    ps.setString(5, VENUE_TYPES[i % VENUE_TYPES.length]);
+                    ps.setString(6, "https://images.example.com/venues/" + i + ".jpg");
+                });
+        // Serve the new rows right away instead of after the next scheduled reconcile
+        venueCatalogService.reconcile();
+        logger.info("Seeded {} venues", count);
+        return jdbcTemplate.queryForList("SELECT id FROM venues ORDER BY id", Long.class);
+    }
+
+    List<Long> seedBookings(int count, int users, List<Long> venueIds) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(6).withMinute(0).withSecond(0).withNano(0);
+        List<Integer> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(i);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO booking (venue_id, user_email, start_time, end_time, status) VALUES (?, ?, ?, ?, 'CONFIRMED')",
+                rows, BATCH_SIZE, (ps, i) -> {
+                    LocalDateTime start = base.plusDays(i / 500).plusHours(i % 16);
+                    ps.setLong(1, venueIds.get(i % venueIds.size()));
+                    ps.setString(2, email(i % users));
+                    ps.setTimestamp(3, Timestamp.valueOf(start));
+                    ps.setTimestamp(4, Timestamp.valueOf(start.plusHours(1)));
+                });
+        logger.info("Seeded {} bookings", count);
+        return jdbcTemplate.queryForList("SELECT id FROM booking ORDER BY id", Long.class);
+    }
+
+    /**
+     * Gives user 0 one booking at each of the first venues, so a per-booking venue load in the booking
+     * reads costs one statement per venue. Seeded after the cancel targets, so the load never cancels them.
+     */
+    void seedProbeBookings(List<Long> venueIds) {
+        LocalDateTime base = LocalDateTime.now().plusYears(2).withHour(6).withMinute(0).withSecond(0).withNano(0);
+        List<Long> venues = venueIds.subList(0, Math.min(PROBE_VENUES, venueIds.size()));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO booking (venue_id, user_email, start_time, end_time, status) VALUES (?, ?, ?, ?, 'CONFIRMED')",
+                venues, BATCH_SIZE, (ps, venueId) -> {
+                    ps.setLong(1, venueId);
+                    ps.setString(2, email(0));
+                    ps.setTimestamp(3, Timestamp.valueOf(base));
+                    ps.setTimestamp(4, Timestamp.valueOf(base.plusHours(1)));
+                });
+    }
+}
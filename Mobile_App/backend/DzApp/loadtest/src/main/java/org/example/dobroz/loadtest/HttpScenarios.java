@@ -0,0 +1,127 @@
+package org.example.dobroz.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The user journeys driven against the running app: signin, venue browsing, booking and cancelling.
+ */
+final class HttpScenarios {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final int users;
+    private final List<Long> venueIds;
+    // Seeded bookings first, then the ones created during the run
+    private final Queue<Long> cancellable;
+    private final AtomicLong bookingSlot = new AtomicLong();
+
+    HttpScenarios(HttpClient client, String baseUrl, int users, List<Long> venueIds, List<Long> bookingIds) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.venueIds = venueIds;
+        this.cancellable = new ConcurrentLinkedQueue<>(bookingIds);
+    }
+
+    Scenario signin() {
+        return scenario("signin", () -> {
+            int user = ThreadLocalRandom.current().nextInt(users);
+            String body = "{\"username\":\"" + DataSeeder.username(user) + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}";
+            return send(post("/api/auth/signin", body)).statusCode() == 200;
+        });
+    }
+
+    Scenario browse() {
+        return scenario("browse", () -> {
+            // Mostly the home screen, sometimes the full list or the featured row
+            int pick = ThreadLocalRandom.current().nextInt(10);
+            String path = pick < 7 ? "/api/venues/home" : pick < 9 ? "/api/venues" : "/api/venues/featured?limit=10";
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build())
+                    .statusCode() == 200;
+        });
+    }
+
+    Scenario bookingCreate() {
+        return scenario("bookingCreate", () -> {
+            long slot = bookingSlot.getAndIncrement();
+            int user = ThreadLocalRandom.current().nextInt(users);
+            long venueId = venueIds.get(ThreadLocalRandom.current().nextInt(venueIds.size()));
+            LocalDate date = LocalDate.now().plusDays(30 + slot / 16);
+            int hour = 6 + (int) (slot % 16);
+            String body = "{\"venueId\":" + venueId
+                    + ",\"userEmail\":\"" + DataSeeder.email(user) + "\""
+                    + ",\"date\":\"" + date + "\""
+                    + ",\"startTime\":\"" + String.format("%02d:00", hour) + "\""
+                    + ",\"endTime\":\"" + String.format("%02d:00", hour + 1) + "\""
+                    + ",\"status\":\"CONFIRMED\"}";
+            HttpResponse<String> response = send(post("/api/bookings", body));
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode created = objectMapper.readTree(response.body());
+            cancellable.add(created.path("id").asLong());
+            return true;
+        });
+    }
+
+    Scenario bookingCancel() {
+        return scenario("bookingCancel", () -> {
+            Long id = cancellable.poll();
+            if (id == null) {
+                // Ran out of bookings; counted as an error so an undersized seed shows up in the report
+                return false;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings/" + id + "/cancel"))
+                    .timeout(TIMEOUT)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            return send(request).statusCode() == 200;
+        });
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Scenario scenario(String name, Action action) {
+        return new Scenario() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean execute() throws Exception {
+                return action.run();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        boolean run() throws Exception;
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.dobroz.loadtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dobroz.entity.ERole;
+import org.example.dobroz.metrics.QueryCounter;
+import org.example.dobroz.repository.BookingRepository;
+import org.example.dobroz.repository.RefreshTokenRepository;
+import org.example.dobroz.repository.RevokedTokenRepository;
+import org.example.dobroz.repository.RoleRepository;
+import org.example.dobroz.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Calls every repository query against the migrated, seeded schema, captures the SQL Hibernate emits for it
+ * through {@link QueryCounter}, and runs EXPLAIN on that SQL to check the plan uses the index designed for it
+ * (db/migration/V5__query_indexes.sql). Each call runs in a transaction that is rolled back, so modifying
+ * queries leave the data alone. Understands H2's plan text, which the load test runs on, and MySQL's EXPLAIN
+ * rows, for running it against a real database. Whole-table reads (findAll(), findAllWithVenue()) and findById()
+ * are not probed, and neither are ix_booking_venue_start (it backs the venue_id foreign key) and ix_venues_type,
+ * which no repository queries.
+ */
+final class IndexUsageCheck {
+    private static final Logger logger = LoggerFactory.getLogger(IndexUsageCheck.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryCounter queryCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionFactory sessionFactory;
+    private final BookingRepository bookingRepository;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean mysql;
+    private final List<String> violations = new ArrayList<>();
+
+    IndexUsageCheck(ApplicationContext context) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.queryCounter = context.getBean(QueryCounter.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+        this.roleRepository = context.getBean(RoleRepository.class);
+        this.userRepository = context.getBean(UserRepository.class);
+        this.refreshTokenRepository = context.getBean(RefreshTokenRepository.class);
+        this.revokedTokenRepository = context.getBean(RevokedTokenRepository.class);
+        this.mysql = "MySQL".equalsIgnoreCase(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    /**
+     * Returns the violations; empty when every query uses its index.
+     */
+    List<String> run() {
+        // Cached queries (RoleRepository) would otherwise be answered without any SQL
+        sessionFactory.getCache().evictAllRegions();
+
+        Instant now = Instant.now();
+        Timestamp nowTs = Timestamp.from(now);
+        String username = DataSeeder.username(0);
+        String email = DataSeeder.email(0);
+        String tokenHash = "0".repeat(64);
+        String familyId = "00000000-0000-0000-0000-000000000000";
+
+        probe("BookingRepository.findByUserEmail", List.of("ix_booking_user_email"),
+                () -> bookingRepository.findByUserEmail(email), email);
+
+        probe("RoleRepository.findByName", List.of("ux_roles_name"),
+                () -> roleRepository.findByName(ERole.ROLE_USER), ERole.ROLE_USER.name());
+
+        probe("UserRepository.findByUsername", List.of("ux_users_username"),
+                () -> userRepository.findByUsername(username), username);
+        probe("UserRepository.findWithRolesByUsername", List.of("ux_users_username", "primary"),
+                () -> userRepository.findWithRolesByUsername(username), username);
+        probe("UserRepository.existsByUsername", List.of("ux_users_username"),
+                () -> userRepository.existsByUsername(username), username, 1);
+        probe("UserRepository.existsByEmail", List.of("ux_users_email"),
+                () -> userRepository.existsByEmail(email), email, 1);
+        probe("UserRepository.findIdentityClashes", List.of("ux_users_username", "ux_users_email"),
+                () -> userRepository.findIdentityClashes(username, email), username, email);
+        probe("UserRepository.findIdentityClashes (bulk)", List.of("ux_users_username", "ux_users_email"),
+                () -> userRepository.findIdentityClashes(List.of(username), List.of(email)), username, email);
+        probe("UserRepository.findRevokedTokenVersions", List.of("ix_users_token_version"),
+                userRepository::findRevokedTokenVersions);
+        probe("UserRepository.findTokenVersionByUsername", List.of("ux_users_username"),
+                () -> userRepository.findTokenVersionByUsername(username), username);
+        probe("UserRepository.incrementTokenVersion", List.of("ux_users_username"),
+                () -> userRepository.incrementTokenVersion(username), username);
+
+        probe("RefreshTokenRepository.findByTokenHash", List.of("ux_refresh_tokens_token_hash"),
+                () -> refreshTokenRepository.findByTokenHash(tokenHash), tokenHash);
+        probe("RefreshTokenRepository.markUsed", List.of("primary"),
+                () -> refreshTokenRepository.markUsed(1L, now), nowTs, 1L);
+        probe("RefreshTokenRepository.revokeFamily", List.of("ix_refresh_tokens_family"),
+                () -> refreshTokenRepository.revokeFamily(familyId), familyId);
+        probe("RefreshTokenRepository.revokeAllForUser", List.of("ix_refresh_tokens_username"),
+                () -> refreshTokenRepository.revokeAllForUser(username), username);
+        probe("RefreshTokenRepository.deleteExpired", List.of("ix_refresh_tokens_expires_at"),
+                () -> refreshTokenRepository.deleteExpired(now), nowTs);
+
+        probe("RevokedTokenRepository.findTop1000ByIdGreaterThanOrderByIdAsc", List.of("primary"),
+                () -> revokedTokenRepository.findTop1000ByIdGreaterThanOrderByIdAsc(0L), 0L, 1000);
+        probe("RevokedTokenRepository.deleteExpired", List.of("ix_revoked_tokens_expires_at"),
+                () -> revokedTokenRepository.deleteExpired(now), nowTs);
+
+        return violations;
+    }
+
+    /**
+     * Runs the call, which must emit exactly one statement, and EXPLAINs that statement with
+     * {@code args} bound to its parameters in order.
+     */
+    private void probe(String query, List<String> indexes, Supplier<?> call, Object... args) {
+        List<String> statements;
+        queryCounter.startCapture();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                call.get();
+                status.setRollbackOnly();
+            });
+        } finally {
+            statements = queryCounter.stopCapture();
+        }
+        if (statements.size() != 1) {
+            violations.add(query + " emitted " + statements.size() + " statements, expected one: " + statements);
+            return;
+        }
+
+        String sql = statements.get(0);
+        long parameters = sql.chars().filter(c -> c == '?').count();
+        if (parameters != args.length) {
+            violations.add(query + " binds " + parameters + " parameters but the probe supplies " + args.length
+                    + ": " + sql);
+            return;
+        }
+
+        String plan = mysql ? mysqlPlan(sql, args) : h2Plan(sql, args);
+        if (plan == null) {
+            violations.add(query + " scans a table, expected " + indexes + " (sql: " + sql + ")");
+            return;
+        }
+        for (String index : indexes) {
+            if (!plan.contains(index)) {
+                violations.add(query + " does not use " + index + " (plan: " + plan + ")");
+                return;
+            }
+        }
+        logger.info("{}: {}", query, indexes);
+    }
+
+    // H2 prints the chosen index in a comment after each table, or "<table>.tableScan" without one
+    private String h2Plan(String sql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args).toLowerCase(Locale.ROOT);
+        return plan.contains(".tablescan") ? null : plan;
+    }
+
+    // One row per table access; type ALL is a full scan. Hibernate aliases its tables, so rows are not
+    // matched by table name; "<union1,2>"-style rows are temporary results, not table accesses.
+    private String mysqlPlan(String sql, Object... args) {
+        StringBuilder keys = new StringBuilder();
+        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql, args)) {
+            Object table = row.get("table");
+            if (table == null || String.valueOf(table).startsWith("<")) {
+                continue;
+            }
+            if ("ALL".equals(row.get("type")) || row.get("key") == null) {
+                return null;
+            }
+            keys.append(String.valueOf(row.get("key")).toLowerCase(Locale.ROOT)).append(' ');
+        }
+        return keys.toString();
+    }
+}
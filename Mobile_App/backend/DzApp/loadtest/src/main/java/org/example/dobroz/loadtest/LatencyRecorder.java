@@ -0,0 +1,55 @@
+package org.example.dobroz.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies of one scenario. Response time is measured from when the request was due to start under
+ * the arrival schedule, not from when it actually went out, so a stalled server cannot hide its own
+ * backlog (coordinated omission). Service time, measured from the actual send, is kept alongside.
+ */
+final class LatencyRecorder {
+    private final String scenario;
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final AtomicLong errors = new AtomicLong();
+
+    LatencyRecorder(String scenario) {
+        this.scenario = scenario;
+    }
+
+    void record(long intendedStartNanos, long actualStartNanos, long endNanos, boolean success) {
+        responseTime.recordValue(Math.max(0, (endNanos - intendedStartNanos) / 1_000));
+        serviceTime.recordValue(Math.max(0, (endNanos - actualStartNanos) / 1_000));
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    Map<String, Object> summary(double measuredSeconds, double targetRate) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = responseTime.getTotalCount();
+        summary.put("scenario", scenario);
+        summary.put("targetRate", targetRate);
+        summary.put("requests", count);
+        summary.put("errors", errors.get());
+        summary.put("throughput", measuredSeconds > 0 ? count / measuredSeconds : 0);
+        summary.put("responseTimeMs", percentiles(responseTime));
+        summary.put("serviceTimeMs", percentiles(serviceTime));
+        return summary;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("p50", histogram.getValueAtPercentile(50) / 1_000.0);
+        values.put("p95", histogram.getValueAtPercentile(95) / 1_000.0);
+        values.put("p99", histogram.getValueAtPercentile(99) / 1_000.0);
+        values.put("p999", histogram.getValueAtPercentile(99.9) / 1_000.0);
+        values.put("max", histogram.getMaxValue() / 1_000.0);
+        return values;
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.dobroz.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.dobroz.DobrozApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on an embedded database, seeds it and drives every scenario at a constant
+ * arrival rate. Settings are system properties (loadtest.*); results go to stdout and loadtest.resultFile.
+ */
+public final class LoadTestRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 1_000);
+        int venues = Integer.getInteger("loadtest.venues", 500);
+        int warmupSec = Integer.getInteger("loadtest.warmupSec", 15);
+        int durationSec = Integer.getInteger("loadtest.durationSec", 60);
+
+        Map<String, Double> rates = new LinkedHashMap<>();
+        rates.put("signin", rate("signin", 20));
+        rates.put("browse", rate("browse", 200));
+        rates.put("bookingCreate", rate("bookingCreate", 50));
+        rates.put("bookingCancel", rate("bookingCancel", 20));
+        // Enough seeded bookings that cancels never run dry, even before any are created
+        int bookings = Integer.getInteger("loadtest.bookings",
+                (int) Math.ceil(rates.get("bookingCancel") * (warmupSec + durationSec) * 1.2) + 1_000);
+
+        // A snapshot left by an earlier run would be warm-started instead of the freshly seeded catalog
+        FileSystemUtils.deleteRecursively(Path.of(System.getProperty("java.io.tmpdir"), "dobroz-loadtest"));
+
+        // Run once per mode and diff the result files to compare platform and virtual threads
+        boolean virtualThreads = Boolean.getBoolean("loadtest.virtualThreads");
+        boolean replica = Boolean.getBoolean("loadtest.replica");
+        List<String> profiles = new ArrayList<>(List.of("loadtest"));
+        if (virtualThreads) {
+            profiles.add("virtual");
+        }
+        if (replica) {
+            profiles.add("replica");
+        }
+        ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(DobrozApplication.class).profiles(profiles.toArray(String[]::new)).run(args);
+        ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+        int exitCode = 0;
+        try {
+            DataSeeder seeder = new DataSeeder(context);
+            seeder.seedUsers(users);
+            List<Long> venueIds = seeder.seedVenues(venues);
+            List<Long> bookingIds = seeder.seedBookings(bookings, users, venueIds);
+            seeder.seedProbeBookings(venueIds);
+
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(requests)
+                    .build();
+
+            if (replica) {
+                // Before anything else writes, so the check's client starts outside its sticky window
+                ReplicaRoutingCheck replicaCheck = new ReplicaRoutingCheck(context, client, baseUrl);
+                replicaCheck.copyPrimaryToReplica();
+                List<String> routing = replicaCheck.run(venueIds.get(0),
+                        context.getEnvironment().getProperty("app.datasource.replica.stickyMs", Long.class, 5000L));
+                routing.forEach(v -> logger.error("Replica routing: {}", v));
+                if (!routing.isEmpty()) {
+                    exitCode = 1;
+                }
+            }
+            List<String> violations = new QueryBudgetCheck(context, client, baseUrl).run(venueIds.get(0));
+            if (!violations.isEmpty()) {
+                violations.forEach(v -> logger.error("Query budget: {}", v));
+                if (Boolean.parseBoolean(System.getProperty("loadtest.enforceQueryBudgets", "true"))) {
+                    exitCode = 1;
+                }
+            }
+            List<String> scans = new IndexUsageCheck(context).run();
+            if (!scans.isEmpty()) {
+                scans.forEach(v -> logger.error("Index usage: {}", v));
+                if (Boolean.parseBoolean(System.getProperty("loadtest.enforceIndexUsage", "true"))) {
+                    exitCode = 1;
+                }
+            }
+
+            if (exitCode == 0) {
+                HttpScenarios scenarios = new HttpScenarios(client, baseUrl, users, venueIds, bookingIds);
+                List<OpenModelDriver> drivers = drive(scenarios, rates, warmupSec, durationSec, requests);
+                report(drivers, durationSec, users, venues, bookings, warmupSec, virtualThreads, replica);
+            }
+        } finally {
+            requests.shutdownNow();
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static List<OpenModelDriver> drive(HttpScenarios scenarios, Map<String, Double> rates, int warmupSec,
+                                               int durationSec, ExecutorService requests) throws InterruptedException {
+        List<Scenario> all = List.of(scenarios.signin(), scenarios.browse(),
+                scenarios.bookingCreate(), scenarios.bookingCancel());
+
+        logger.info("Driving {} for {}s after a {}s warm-up", rates, durationSec, warmupSec);
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        List<OpenModelDriver> drivers = new ArrayList<>();
+        List<Thread> schedulers = new ArrayList<>();
+        for (Scenario scenario : all) {
+            OpenModelDriver driver = new OpenModelDriver(scenario, rates.get(scenario.name()), start,
+                    TimeUnit.SECONDS.toNanos(warmupSec), TimeUnit.SECONDS.toNanos(durationSec), requests);
+            drivers.add(driver);
+            // Platform threads keep the arrival schedule independent of the virtual threads doing the work
+            schedulers.add(Thread.ofPlatform().name("loadtest-" + scenario.name()).start(driver));
+        }
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        requests.shutdown();
+        if (!requests.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Requests still outstanding 30s after the last arrival");
+        }
+        return drivers;
+    }
+
+    private static double rate(String scenario, double defaultRate) {
+        return Double.parseDouble(System.getProperty("loadtest.rate." + scenario, String.valueOf(defaultRate)));
+    }
+
+    private static void report(List<OpenModelDriver> drivers, int durationSec, int users, int venues, int bookings,
+                               int warmupSec, boolean virtualThreads, boolean replica) throws IOException {
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        System.out.printf("%n%-15s %9s %10s %8s %10s %10s %10s %10s%n",
+                "Scenario", "Target/s", "Actual/s", "Errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (OpenModelDriver driver : drivers) {
+            Map<String, Object> summary = driver.recorder().summary(durationSec, driver.ratePerSecond());
+            scenarios.add(summary);
+            @SuppressWarnings("unchecked")
+            Map<String, Double> latency = (Map<String, Double>) summary.get("responseTimeMs");
+            System.out.printf("%-15s %9.1f %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    summary.get("scenario"), driver.ratePerSecond(), (double) summary.get("throughput"),
+                    (long) summary.get("errors"), latency.get("p50"), latency.get("p95"), latency.get("p99"),
+                    latency.get("max"));
+        }
+        System.out.println("Latencies are corrected for coordinated omission; serviceTimeMs in the JSON are not.");
+
+        String resultFile = System.getProperty("loadtest.resultFile");
+        if (resultFile != null) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("config", Map.of("users", users, "venues", venues, "bookings", bookings,
+                    "warmupSec", warmupSec, "durationSec", durationSec, "virtualThreads", virtualThreads,
+                    "replica", replica));
+            result.put("scenarios", scenarios);
+            File file = new File(resultFile);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+            logger.info("Results written to {}", file.getAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.dobroz.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are started on a fixed schedule regardless of how many are still
+ * outstanding, the way independent users arrive. Each request runs on its own virtual thread,
+ * so a slow server grows the backlog instead of slowing the arrivals.
+ */
+final class OpenModelDriver implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(OpenModelDriver.class);
+
+    private final Scenario scenario;
+    private final double ratePerSecond;
+    private final long startNanos;
+    private final long measureFromNanos;
+    private final long endNanos;
+    private final ExecutorService executor;
+    private final LatencyRecorder recorder;
+
+    OpenModelDriver(Scenario scenario, double ratePerSecond, long startNanos, long warmupNanos, long durationNanos,
+                    ExecutorService executor) {
+        this.scenario = scenario;
+        this.ratePerSecond = ratePerSecond;
+        this.startNanos = startNanos;
+        this.measureFromNanos = startNanos + warmupNanos;
+        this.endNanos = measureFromNanos + durationNanos;
+        this.executor = executor;
+        this.recorder = new LatencyRecorder(scenario.name());
+    }
+
+    LatencyRecorder recorder() {
+        return recorder;
+    }
+
+    double ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    @Override
+    public void run() {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        for (long i = 0; ; i++) {
+            // Derived from the schedule, never from the previous send, so delays do not accumulate
+            long intended = startNanos + i * intervalNanos;
+            if (intended >= endNanos) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFromNanos;
+            executor.execute(() -> send(intended, measured));
+        }
+    }
+
+    private void send(long intended, boolean measured) {
+        long actual = System.nanoTime();
+        boolean success;
+        try {
+            success = scenario.execute();
+        } catch (Exception e) {
+            logger.debug("{} request failed: {}", scenario.name(), e.toString());
+            success = false;
+        }
+        if (measured) {
+            recorder.record(intended, actual, System.nanoTime(), success);
+        }
+    }
+}
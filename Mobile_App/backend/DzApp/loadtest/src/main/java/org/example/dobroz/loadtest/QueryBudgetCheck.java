@@ -0,0 +1,110 @@
+package org.example.dobroz.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dobroz.entity.Venue;
+import org.example.dobroz.metrics.QueryCountFilter;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Sends each scenario's requests once against the seeded app and compares the SQL statement count the
+ * server reports (X-Query-Count) with query-budgets.properties. A request over its budget fails the run,
+ * so N+1 regressions in BookingController or AuthService break the build instead of reaching production.
+ */
+final class QueryBudgetCheck {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetCheck.class);
+
+    private final SessionFactory sessionFactory;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Properties budgets = new Properties();
+    private final List<String> violations = new ArrayList<>();
+
+    QueryBudgetCheck(ApplicationContext context, HttpClient client, String baseUrl) throws IOException {
+        this.sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+        this.client = client;
+        this.baseUrl = baseUrl;
+        try (InputStream in = QueryBudgetCheck.class.getResourceAsStream("/query-budgets.properties")) {
+            if (in == null) {
+                throw new IOException("query-budgets.properties not found on the classpath");
+            }
+            budgets.load(in);
+        }
+    }
+
+    /**
+     * Returns the violations; empty when every request stayed within its budget.
+     */
+    List<String> run(long venueId) throws Exception {
+        check("GET /api/venues", get("/api/venues"));
+        check("GET /api/venues/home", get("/api/venues/home"));
+        check("GET /api/venues/featured", get("/api/venues/featured?limit=10"));
+        check("POST /api/auth/signin", post("/api/auth/signin",
+                "{\"username\":\"" + DataSeeder.username(0) + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}"));
+
+        HttpResponse<String> created = post("/api/bookings", "{\"venueId\":" + venueId
+                + ",\"userEmail\":\"" + DataSeeder.email(0) + "\",\"date\":\"" + LocalDate.now().plusYears(1)
+                + "\",\"startTime\":\"10:00\",\"endTime\":\"11:00\",\"status\":\"CONFIRMED\"}");
+        check("POST /api/bookings", created);
+        if (created.statusCode() == 200) {
+            long bookingId = new ObjectMapper().readTree(created.body()).path("id").asLong();
+            check("PATCH /api/bookings/{id}/cancel", send(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/api/bookings/" + bookingId + "/cancel"))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build()));
+        }
+
+        // A warm venue cache would answer per-booking venue loads without SQL and hide an N+1
+        sessionFactory.getCache().evictEntityData(Venue.class);
+        check("GET /api/bookings", get("/api/bookings"));
+        check("GET /api/bookings/user", get("/api/bookings/user?email="
+                + URLEncoder.encode(DataSeeder.email(0), StandardCharsets.UTF_8)));
+        return violations;
+    }
+
+    private void check(String endpoint, HttpResponse<String> response) {
+        String budget = budgets.getProperty(endpoint);
+        String reported = response.headers().firstValue(QueryCountFilter.QUERY_COUNT_HEADER).orElse(null);
+        if (response.statusCode() != 200) {
+            violations.add(endpoint + " answered " + response.statusCode());
+        } else if (budget == null || reported == null) {
+            violations.add(endpoint + (budget == null ? " has no entry in query-budgets.properties"
+                    : " did not report " + QueryCountFilter.QUERY_COUNT_HEADER));
+        } else if (Integer.parseInt(reported) > Integer.parseInt(budget)) {
+            violations.add(endpoint + " issued " + reported + " SQL statements, budget is " + budget);
+        } else {
+            logger.info("{}: {} SQL statements (budget {})", endpoint, reported, budget);
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.dobroz.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dobroz.datasource.ReplicaRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs with the "replica" profile, where primary and replica are two separate H2 databases. The seeded
+ * primary is copied into the replica once and never again, so any later write exists only on the primary
+ * and shows which database answered a read: right after booking, the same client must see its booking
+ * (read-your-writes), and once the sticky window has passed the replica must answer without it.
+ */
+final class ReplicaRoutingCheck {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingCheck.class);
+
+    private static final String EMAIL = "replica-check@loadtest.local";
+
+    private final ApplicationContext context;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<String> violations = new ArrayList<>();
+
+    ReplicaRoutingCheck(ApplicationContext context, HttpClient client, String baseUrl) {
+        this.context = context;
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Copies the primary into the replica and switches reads over. Call after seeding.
+     */
+    void copyPrimaryToReplica() throws Exception {
+        Path script = Files.createTempFile("dobroz-replica", ".sql");
+        try {
+            new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class))
+                    .execute("SCRIPT TO '" + script.toAbsolutePath() + "'");
+            new JdbcTemplate(context.getBean("replicaDataSource", DataSource.class))
+                    .execute("RUNSCRIPT FROM '" + script.toAbsolutePath() + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+        context.getBean(ReplicaRoutingDataSource.class).setReplicaReads(true);
+        logger.info("Replica loaded from the primary; read-only transactions now go to the replica");
+    }
+
+    /**
+     * Returns the violations; empty when reads and writes were routed as expected.
+     */
+    List<String> run(long venueId, long stickyMs) throws Exception {
+        if (bookingCount() != 0) {
+            violations.add("replica already has bookings for " + EMAIL + " before the check");
+        }
+
+        HttpResponse<String> created = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"venueId\":" + venueId + ",\"userEmail\":\"" + EMAIL
+                        + "\",\"date\":\"" + LocalDate.now().plusYears(1)
+                        + "\",\"startTime\":\"12:00\",\"endTime\":\"13:00\",\"status\":\"CONFIRMED\"}"))
+                .build());
+        if (created.statusCode() != 200) {
+            violations.add("POST /api/bookings answered " + created.statusCode());
+            return violations;
+        }
+
+        int afterWrite = bookingCount();
+        if (afterWrite != 1) {
+            violations.add("read right after the write saw " + afterWrite + " bookings, expected 1 from the primary");
+        }
+
+        Thread.sleep(stickyMs + 500);
+        int afterWindow = bookingCount();
+        if (afterWindow != 0) {
+            violations.add("read after the sticky window saw " + afterWindow
+                    + " bookings, expected 0 from the replica");
+        }
+
+        if (violations.isEmpty()) {
+            logger.info("Replica routing: own write read from the primary, later read served by the replica");
+        }
+        return violations;
+    }
+
+    private int bookingCount() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings/user?email="
+                + URLEncoder.encode(EMAIL, StandardCharsets.UTF_8))).GET().build());
+        if (response.statusCode() != 200) {
+            violations.add("GET /api/bookings/user answered " + response.statusCode());
+            return -1;
+        }
+        JsonNode bookings = new ObjectMapper().readTree(response.body());
+        return bookings.size();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.dobroz.loadtest;
+
+/**
+ * One request type driven at its own arrival rate. Implementations are called concurrently.
+ */
+interface Scenario {
+    String name();
+
+    /**
+     * Sends one request and returns whether the response was the expected one.
+     */
+    boolean execute() throws Exception;
+}
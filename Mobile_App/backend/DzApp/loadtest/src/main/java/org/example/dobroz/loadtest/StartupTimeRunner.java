@@ -0,0 +1,151 @@
+package org.example.dobroz.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first successful GET /api/venues: from launching a fresh JVM until the app answers 200.
+ * That is what an autoscaled instance has to get through before it takes traffic, JVM startup included.
+ * By default the app runs from this module's class path on the embedded database; startup.command runs
+ * anything else, e.g. the AOT/AppCDS jar from mvn -Pstartup package. Settings are system properties (startup.*).
+ */
+public final class StartupTimeRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeRunner.class);
+
+    private StartupTimeRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        int port = Integer.getInteger("startup.port", 18080);
+        long timeoutMs = TimeUnit.SECONDS.toMillis(Integer.getInteger("startup.timeoutSec", 120));
+        String profiles = System.getProperty("startup.profiles", "loadtest");
+        String jvmArgs = System.getProperty("startup.jvmArgs", "");
+        String customCommand = System.getProperty("startup.command", "");
+        Path logDir = Path.of(System.getProperty("startup.logDir", System.getProperty("java.io.tmpdir")));
+
+        List<String> command = customCommand.isBlank()
+                ? defaultCommand(jvmArgs, profiles)
+                : new ArrayList<>(split(customCommand));
+        command.add("--server.port=" + port);
+        logger.info("Startup command: {}", String.join(" ", command));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/venues"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        List<Long> timesMs = new ArrayList<>();
+        int exitCode = 0;
+        for (int run = 1; run <= runs; run++) {
+            // Same starting point every run: no venue or popularity snapshot to warm-start from
+            FileSystemUtils.deleteRecursively(Path.of(System.getProperty("java.io.tmpdir"), "dobroz-loadtest"));
+            File log = logDir.resolve("startup-run-" + run + ".log").toFile();
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log)
+                    .start();
+            try {
+                long elapsedMs = awaitFirstResponse(client, request, process, start, timeoutMs);
+                timesMs.add(elapsedMs);
+                logger.info("Run {}: first /api/venues response after {} ms", run, elapsedMs);
+            } catch (IllegalStateException e) {
+                logger.error("Run {}: {} (output in {})", run, e.getMessage(), log);
+                exitCode = 1;
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        report(timesMs, command, runs);
+        System.exit(exitCode);
+    }
+
+    private static long awaitFirstResponse(HttpClient client, HttpRequest request, Process process, long startNanos,
+                                           long timeoutMs) throws InterruptedException {
+        while (true) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (!process.isAlive()) {
+                throw new IllegalStateException("app exited with code " + process.exitValue() + " before answering");
+            }
+            if (elapsedMs > timeoutMs) {
+                throw new IllegalStateException("no successful response within " + timeoutMs + " ms");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> defaultCommand(String jvmArgs, String profiles) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(jvmArgs));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("org.example.dobroz.DobrozApplication");
+        command.add("--spring.profiles.active=" + profiles);
+        return command;
+    }
+
+    private static List<String> split(String args) {
+        return Arrays.stream(args.trim().split("\\s+")).filter(a -> !a.isEmpty()).toList();
+    }
+
+    private static void report(List<Long> timesMs, List<String> command, int runs) throws IOException {
+        List<Long> sorted = timesMs.stream().sorted().toList();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("runs", runs);
+        summary.put("successful", sorted.size());
+        if (!sorted.isEmpty()) {
+            summary.put("minMs", sorted.get(0));
+            summary.put("medianMs", sorted.get(sorted.size() / 2));
+            summary.put("meanMs", sorted.stream().mapToLong(Long::longValue).average().orElse(0));
+            summary.put("maxMs", sorted.get(sorted.size() - 1));
+            System.out.printf("%nTime to first /api/venues response over %d runs: min %d ms, median %d ms, max %d ms%n",
+                    sorted.size(), sorted.get(0), sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+        }
+
+        String resultFile = System.getProperty("startup.resultFile");
+        if (resultFile != null) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            // The class path is long and says nothing the profiles and JVM flags do not
+            String classPath = System.getProperty("java.class.path");
+            result.put("command", command.stream().map(a -> a.equals(classPath) ? "<class path>" : a).toList());
+            result.put("summary", summary);
+            result.put("timesMs", timesMs);
+            File file = new File(resultFile);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+            logger.info("Results written to {}", file.getAbsolutePath());
+        }
+    }
+}
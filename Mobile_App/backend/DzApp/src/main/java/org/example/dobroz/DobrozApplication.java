@@ -1,34 +1,16 @@
 package org.example.dobroz;
 
-import org.example.dobroz.entity.ERole;
-import org.example.dobroz.entity.Role;
-import org.example.dobroz.repository.RoleRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableAsync
 public class DobrozApplication {
 
-    @Autowired
-    private RoleRepository roleRepository;
-
     public static void main(String[] args) {
         SpringApplication.run(DobrozApplication.class, args);
     }
-
-    @Bean
-    CommandLineRunner init() {
-        return args -> {
-            // Initialize roles if they don't exist
-            if (roleRepository.count() == 0) {
-                roleRepository.save(new Role(ERole.ROLE_USER));
-                roleRepository.save(new Role(ERole.ROLE_MODERATOR));
-                roleRepository.save(new Role(ERole.ROLE_ADMIN));
-                System.out.println("Roles initialized successfully!");
-            }
-        };
-    }
 }
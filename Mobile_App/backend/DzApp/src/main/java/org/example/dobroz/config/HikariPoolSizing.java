@@ -0,0 +1,43 @@
+package org.example.dobroz.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * With platform threads, Tomcat's 200 request threads were the real cap on concurrent JDBC work.
+ * Virtual threads remove that cap, so the connection pool becomes the limiter: it is sized for what
+ * the database can run in parallel, and waiting for a connection is bounded so excess requests fail
+ * fast instead of piling up as parked virtual threads.
+ */
+@Component
+public class HikariPoolSizing implements BeanPostProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(HikariPoolSizing.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 0 derives the size from the core count: (2 x cores) + 1
+    @Value("${app.datasource.virtualThreads.poolSize:0}")
+    private int poolSize;
+
+    @Value("${app.datasource.virtualThreads.connectionTimeoutMs:2000}")
+    private long connectionTimeoutMs;
+
+    // Runs after spring.datasource.hikari.* has been bound, before the pool starts
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (virtualThreads && bean instanceof HikariDataSource dataSource && !dataSource.isRunning()) {
+            int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2 + 1;
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+            dataSource.setConnectionTimeout(connectionTimeoutMs);
+            logger.info("Virtual threads on: HikariCP sized to {} connections, {} ms connection timeout",
+                    size, connectionTimeoutMs);
+        }
+        return bean;
+    }
+}
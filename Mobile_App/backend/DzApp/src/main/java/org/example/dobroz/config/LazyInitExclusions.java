@@ -0,0 +1,39 @@
+package org.example.dobroz.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+/**
+ * With spring.main.lazy-initialization=true (the "startup" profile) beans are created on first use,
+ * which moves their cost out of startup. Some must stay eager: a lazy bean's @Scheduled methods are
+ * never registered, and the connection pool, Hibernate and the security chain would otherwise be built
+ * by the first request, which is exactly the one an autoscaled instance has to answer quickly.
+ */
+@Configuration
+public class LazyInitExclusions {
+
+    // Static: consulted by a BeanFactoryPostProcessor, before regular beans exist
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, EntityManagerFactory.class, SecurityFilterChain.class);
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerScheduledBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> type) {
+        return !MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
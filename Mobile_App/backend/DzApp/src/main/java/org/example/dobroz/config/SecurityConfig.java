@@ -2,8 +2,11 @@ package org.example.dobroz.config;
 
 import org.example.dobroz.security.jwt.AuthEntryPointJwt;
 import org.example.dobroz.security.jwt.AuthTokenFilter;
+import org.example.dobroz.security.ratelimit.ConcurrencyLimitFilter;
+import org.example.dobroz.security.services.OffloadingPasswordEncoder;
 import org.example.dobroz.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,7 +16,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -34,17 +36,37 @@ public class SecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    // BCrypt cost, pinned so every node and restart agrees; PasswordCostCheck suggests a value for this hardware
+    @Value("${app.passwordHashing.strength:10}")
+    private int passwordStrength;
+
+    @Value("${app.passwordHashing.threads:0}")
+    private int passwordThreads;
+
+    @Value("${app.passwordHashing.queueSize:64}")
+    private int passwordQueueSize;
+
+    @Value("${app.passwordHashing.waitMs:5000}")
+    private long passwordWaitMs;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter() {
+        return new ConcurrencyLimitFilter();
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Stores a fresh hash on successful login when the stored BCrypt cost differs from the configured one
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         return authProvider;
     }
@@ -56,7 +78,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = passwordThreads > 0 ? passwordThreads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(passwordStrength, threads, passwordQueueSize, passwordWaitMs);
     }
 
     @Bean
@@ -80,16 +103,22 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers("/api/auth/**","/error").permitAll()
+                        // Before /api/auth/**, which would otherwise let an expired token reach it as anonymous
+                        auth.requestMatchers("/api/auth/me").authenticated()
+                                .requestMatchers("/api/auth/**","/error").permitAll()
                                 .requestMatchers("/api/venues/**").permitAll()
                                 .requestMatchers("/api/bookings/**").permitAll()
-                                .requestMatchers("/api/auth/me").authenticated()
+                                // Scraped by Prometheus; everything else under /actuator stays admin-only
+                                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .requestMatchers("/api/bookings/user").authenticated()
                                 .anyRequest().authenticated()
                 );
 
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Shed load before any token work is spent on a request that will be turned away
+        http.addFilterBefore(concurrencyLimitFilter(), AuthTokenFilter.class);
 
         return http.build();
     }
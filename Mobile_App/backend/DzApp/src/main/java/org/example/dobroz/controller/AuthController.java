@@ -1,21 +1,34 @@
 package org.example.dobroz.controller;
 
+import org.example.dobroz.dto.ImportReport;
 import org.example.dobroz.dto.JwtResponse;
 import org.example.dobroz.dto.LoginRequest;
 import org.example.dobroz.dto.SignupRequest;
+import org.example.dobroz.dto.TokenRefreshRequest;
 import org.example.dobroz.entity.User;
 import org.example.dobroz.repository.UserRepository;
 import org.example.dobroz.security.jwt.JwtUtils;
+import org.example.dobroz.security.services.InvalidRefreshTokenException;
+import org.example.dobroz.security.services.PasswordHashingBusyException;
+import org.example.dobroz.security.services.RefreshTokenService;
+import org.example.dobroz.security.services.TokenDenylistService;
 import org.example.dobroz.service.AuthService;
+import org.example.dobroz.service.BulkSignupService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @CrossOrigin(origins = "http://localhost:8081", maxAge = 3600, allowCredentials = "true")
@@ -32,6 +45,18 @@ public class AuthController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private BulkSignupService bulkSignupService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenDenylistService tokenDenylistService;
+
+    @Value("${app.bulkSignup.maxRows:1000}")
+    private int bulkSignupMaxRows;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         JwtResponse jwtResponse = authService.authenticateUser(loginRequest);
@@ -39,6 +64,23 @@ public class AuthController {
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
+                .header(HttpHeaders.SET_COOKIE, jwtResponse.getRefreshCookie().toString())
+                .body(jwtResponse);
+    }
+
+    // Browsers send the refresh cookie; the mobile app posts the token in the body
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(HttpServletRequest request,
+                                          @RequestBody(required = false) TokenRefreshRequest refreshRequest) {
+        String refreshToken = jwtUtils.getRefreshTokenFromCookies(request);
+        if (refreshToken == null && refreshRequest != null) {
+            refreshToken = refreshRequest.getRefreshToken();
+        }
+
+        JwtResponse jwtResponse = authService.refresh(refreshToken);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtResponse.getCookie().toString())
+                .header(HttpHeaders.SET_COOKIE, jwtResponse.getRefreshCookie().toString())
                 .body(jwtResponse);
     }
 
@@ -47,13 +89,50 @@ public class AuthController {
         return authService.registerUser(signUpRequest);
     }
 
+    // B2B onboarding: many accounts in one call, answered with a per-row report
+    @PostMapping("/signup/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> registerUsers(@RequestBody List<SignupRequest> signUpRequests) {
+        if (signUpRequests.size() > bulkSignupMaxRows) {
+            return ResponseEntity.badRequest().body("Error: At most " + bulkSignupMaxRows + " users per request!");
+        }
+        ImportReport report = bulkSignupService.registerUsers(signUpRequests);
+        return ResponseEntity.ok(report);
+    }
+
     @PostMapping("/signout")
-    public ResponseEntity<?> logoutUser() {
+    public ResponseEntity<?> logoutUser(HttpServletRequest request,
+                                        @RequestBody(required = false) TokenRefreshRequest refreshRequest) {
+        String refreshToken = jwtUtils.getRefreshTokenFromCookies(request);
+        if (refreshToken == null && refreshRequest != null) {
+            refreshToken = refreshRequest.getRefreshToken();
+        }
+        refreshTokenService.revoke(refreshToken);
+
+        // The access token itself stays denied until it would have expired
+        String jwt = jwtUtils.getJwtFromRequest(request);
+        Claims claims = jwt != null ? jwtUtils.getValidatedClaims(jwt) : null;
+        if (claims != null && claims.getExpiration() != null) {
+            tokenDenylistService.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+
         ResponseCookie cookie = jwtUtils.getCleanJwtCookie();
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .header(HttpHeaders.SET_COOKIE, jwtUtils.getCleanRefreshCookie().toString())
                 .body("You've been signed out!");
     }
+
+    // Signs out every device: refresh tokens are revoked and access tokens stop working after the next version poll
+    @PostMapping("/signout/all")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> logoutEverywhere(Authentication authentication) {
+        refreshTokenService.revokeAll(authentication.getName());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtUtils.getCleanJwtCookie().toString())
+                .header(HttpHeaders.SET_COOKIE, jwtUtils.getCleanRefreshCookie().toString())
+                .body("You've been signed out on all devices!");
+    }
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUserInfo(Authentication authentication) {
         String username = authentication.getName();
@@ -67,5 +146,18 @@ public class AuthController {
         return ResponseEntity.ok(userInfo);
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<?> handleInvalidRefreshToken(InvalidRefreshTokenException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.SET_COOKIE, jwtUtils.getCleanRefreshCookie().toString())
+                .body("Error: " + e.getMessage());
+    }
 
+    // The hashing pool is full: fail fast rather than tie up a request thread
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> handleHashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Error: " + e.getMessage());
+    }
 }
@@ -6,8 +6,10 @@ import org.example.dobroz.entity.Booking;
 import org.example.dobroz.entity.Venue;
 import org.example.dobroz.repository.BookingRepository;
 import org.example.dobroz.repository.VenueRepository;
+import org.example.dobroz.service.VenuePopularityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
         import java.time.LocalDateTime;
@@ -26,10 +28,15 @@ public class BookingController {
     @Autowired
     private VenueRepository venueRepository;
 
+    @Autowired
+    private VenuePopularityService venuePopularityService;
+
     // ✅ Get all bookings (as BookingResponse with venue name)
+    // Read-only transactions go to the replica when one is configured, venue loads included
     @GetMapping
+    @Transactional(readOnly = true)
     public List<BookingResponse> getAllBookings() {
-        List<Booking> bookings = bookingRepository.findAll();
+        List<Booking> bookings = bookingRepository.findAllWithVenue();
         return bookings.stream().map(BookingResponse::from).collect(Collectors.toList());
     }
 
@@ -55,6 +62,7 @@ public class BookingController {
             );
 
             Booking savedBooking = bookingRepository.save(booking);
+            venuePopularityService.recordBooking(savedBooking);
             return ResponseEntity.ok(BookingResponse.from(savedBooking));
 
         } catch (Exception e) {
@@ -78,10 +86,12 @@ public class BookingController {
 
         booking.setStatus("Cancelled");
         bookingRepository.save(booking);
+        venuePopularityService.recordCancellation(booking);
 
         return ResponseEntity.ok("Booking cancelled successfully");
     }
     @GetMapping("/user")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getBookingsByUserEmail(@RequestParam String email) {
         List<Booking> bookings = bookingRepository.findByUserEmail(email);
         return ResponseEntity.ok(bookings);
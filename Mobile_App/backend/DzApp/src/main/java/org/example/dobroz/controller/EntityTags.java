@@ -0,0 +1,35 @@
+package org.example.dobroz.controller;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * If-None-Match evaluation for the handlers that answer conditional GETs themselves (RFC 9110, 13.1.2).
+ */
+final class EntityTags {
+    private static final Pattern ENTITY_TAG = Pattern.compile("(?:W/)?(\"[^\"]*\")");
+
+    private EntityTags() {
+    }
+
+    /**
+     * Whether a GET with this If-None-Match header should get a 304 for the current ETag: the header is "*",
+     * or one of its listed tags matches under weak comparison, so W/ prefixes on either side are ignored.
+     */
+    static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String current = etag.startsWith("W/") ? etag.substring(2) : etag;
+        Matcher tags = ENTITY_TAG.matcher(ifNoneMatch);
+        while (tags.find()) {
+            if (tags.group(1).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
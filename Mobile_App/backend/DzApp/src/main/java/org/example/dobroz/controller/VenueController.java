@@ -1,12 +1,22 @@
 package org.example.dobroz.controller;
 
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.dobroz.dto.ImportReport;
 import org.example.dobroz.entity.Venue;
 import org.example.dobroz.repository.VenueRepository;
+import org.example.dobroz.service.VenueCatalogService;
+import org.example.dobroz.service.VenueImportService;
+import org.example.dobroz.service.VenuePopularityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,16 +26,49 @@ import java.util.Optional;
 public class VenueController {
 
     private final VenueRepository venueRepository;
+    private final VenueCatalogService venueCatalogService;
+    private final VenueImportService venueImportService;
+    private final VenuePopularityService venuePopularityService;
 
     @Autowired
-    public VenueController(VenueRepository venueRepository) {
+    public VenueController(VenueRepository venueRepository,
+                           VenueCatalogService venueCatalogService,
+                           VenueImportService venueImportService,
+                           VenuePopularityService venuePopularityService) {
         this.venueRepository = venueRepository;
+        this.venueCatalogService = venueCatalogService;
+        this.venueImportService = venueImportService;
+        this.venuePopularityService = venuePopularityService;
     }
 
+    // Served from the pre-serialized catalog, like /home
     @GetMapping
-    public ResponseEntity<List<Venue>> getAllVenues() {
-        List<Venue> venues = venueRepository.findAll();
-        return ResponseEntity.ok(venues);
+    public ResponseEntity<byte[]> getAllVenues(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshotResponse(venueCatalogService.getAllVenuesJson(), ifNoneMatch, acceptEncoding);
+    }
+
+    // Home-screen buckets, served straight from the pre-serialized snapshot
+    @GetMapping("/home")
+    public ResponseEntity<byte[]> getHomeCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshotResponse(venueCatalogService.getHomeCategories(), ifNoneMatch, acceptEncoding);
+    }
+
+    // Most booked venues lately, overall or for one venue type
+    @GetMapping("/featured")
+    public ResponseEntity<List<Venue>> getFeaturedVenues(@RequestParam(required = false) String type,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> ranked = type == null
+                ? venuePopularityService.featuredVenues(limit)
+                : venuePopularityService.topVenues(type);
+        List<Venue> venues = venueCatalogService.resolve(ranked);
+        return ResponseEntity.ok(venues.size() > limit ? venues.subList(0, limit) : venues);
     }
 
     @GetMapping("/{id}")
@@ -44,6 +87,78 @@ public class VenueController {
             return ResponseEntity.badRequest().build();
         }
         Venue savedVenue = venueRepository.save(venue);
+        venueCatalogService.markStale();
         return ResponseEntity.ok(savedVenue);
     }
+
+    // Bulk onboarding: the body is read line by line, so uploads of any size are fine
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importVenues(HttpServletRequest request) throws IOException {
+        VenueImportService.Format format = request.getContentType().startsWith("text/csv")
+                ? VenueImportService.Format.CSV
+                : VenueImportService.Format.NDJSON;
+        try {
+            ImportReport report = venueImportService.importVenues(request.getInputStream(), format);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // The gzip variant is compressed once per catalog version; Tomcat leaves an encoded body alone
+    private static ResponseEntity<byte[]> snapshotResponse(VenueCatalogService.JsonSnapshot snapshot,
+                                                           String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding) && snapshot.gzipBody().length < snapshot.body().length;
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        byte[] body = gzip ? snapshot.gzipBody() : snapshot.body();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // RFC 9110 12.5.3: an explicit gzip (or x-gzip) entry decides; "*" only covers gzip when it is not
+    // listed. q=0 means not acceptable, and a coding that is not mentioned at all is not sent.
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip, qValue(parts));
+            } else if (name.equals("*")) {
+                any = Math.max(any, qValue(parts));
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    // A malformed weight counts as q=0 so the response falls back to identity
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    double q = Double.parseDouble(param.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
@@ -0,0 +1,149 @@
+package org.example.dobroz.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.dobroz.entity.Venue;
+import org.example.dobroz.repository.VenueRepository;
+import org.example.dobroz.service.ThumbnailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/venues")
+@CrossOrigin(origins = "*")
+public class VenueImageController {
+    private static final Logger logger = LoggerFactory.getLogger(VenueImageController.class);
+
+    // Tomcat's sendfile hand-off attributes (NIO/NIO2 connectors)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final VenueRepository venueRepository;
+    private final ThumbnailService thumbnailService;
+
+    @Autowired
+    public VenueImageController(VenueRepository venueRepository, ThumbnailService thumbnailService) {
+        this.venueRepository = venueRepository;
+        this.thumbnailService = thumbnailService;
+    }
+
+    // Redirects to the versioned URL below, which is the one worth caching
+    @GetMapping("/{id}/thumbnail")
+    public void getThumbnail(@PathVariable Long id,
+                             @RequestParam(defaultValue = "small") String size,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        serveThumbnail(id, null, size, request, response);
+    }
+
+    // The version is a hash of the source image url, so the bytes behind this URL never change
+    @GetMapping("/{id}/thumbnail/{version}")
+    public void getVersionedThumbnail(@PathVariable Long id,
+                                      @PathVariable String version,
+                                      @RequestParam(defaultValue = "small") String size,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        serveThumbnail(id, version, size, request, response);
+    }
+
+    private void serveThumbnail(Long id, String version, String size,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ThumbnailService.Size thumbSize;
+        try {
+            thumbSize = ThumbnailService.Size.valueOf(size.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown thumbnail size: " + size);
+            return;
+        }
+
+        Optional<Venue> venue = venueRepository.findById(id);
+        if (venue.isEmpty() || venue.get().getImageUrl() == null || venue.get().getImageUrl().isBlank()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String sourceUrl = venue.get().getImageUrl();
+        if (!thumbnailService.isAllowedSource(sourceUrl)) {
+            logger.warn("Venue {} image is not an allowed thumbnail source: {}", id, sourceUrl);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String current = thumbnailService.version(sourceUrl, thumbSize);
+        if (!current.equals(version)) {
+            // Unversioned, or the venue's image has changed since the client got this URL
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            response.setHeader(HttpHeaders.LOCATION, request.getContextPath() + "/api/venues/" + id
+                    + "/thumbnail/" + current + "?size=" + thumbSize.name().toLowerCase(Locale.ROOT));
+            return;
+        }
+
+        String etag = "\"" + thumbnailService.key(sourceUrl, thumbSize) + "\"";
+        String ifNoneMatch = String.join(",", Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH)));
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+            return;
+        }
+
+        Path file;
+        FileChannel opened;
+        try {
+            file = thumbnailService.getThumbnail(sourceUrl, thumbSize);
+            try {
+                opened = FileChannel.open(file, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                // Removed from disk behind the cache's back; render it again
+                file = thumbnailService.getThumbnail(sourceUrl, thumbSize);
+                opened = FileChannel.open(file, StandardOpenOption.READ);
+            }
+        } catch (IOException e) {
+            logger.error("Thumbnail generation failed for venue {}: {}", id, e.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_GATEWAY);
+            return;
+        }
+
+        try (FileChannel channel = opened) {
+            long length = channel.size();
+
+            response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+            response.setContentLengthLong(length);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, length);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.dobroz.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients wrote recently, so their reads go to the primary until the replica has
+ * caught up. A client is the authenticated username, or the remote address for anonymous calls such
+ * as bookings. Runs after the Spring Security chain, when the principal is known. The window is
+ * per node; behind a load balancer without sticky sessions a read may still land on a node that has
+ * not seen the write.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final ThreadLocal<RequestState> current = new ThreadLocal<>();
+
+    // Should exceed the replica's usual replication lag
+    @Value("${app.datasource.replica.stickyMs:5000}")
+    private long stickyMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        Long until = pinnedUntil.get(client);
+        current.set(new RequestState(client, until != null && until > System.currentTimeMillis()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            current.remove();
+        }
+    }
+
+    /**
+     * True when the client of the current request wrote within the window. Work outside a request,
+     * such as scheduled jobs, is never pinned.
+     */
+    boolean pinnedToPrimary() {
+        RequestState state = current.get();
+        return state != null && state.pinned;
+    }
+
+    void recordWrite() {
+        RequestState state = current.get();
+        if (state != null) {
+            // The rest of this request reads its own write as well
+            state.pinned = true;
+            pinnedUntil.put(state.client, System.currentTimeMillis() + stickyMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.evictMs:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static final class RequestState {
+        private final String client;
+        private boolean pinned;
+
+        RequestState(String client, boolean pinned) {
+            this.client = client;
+            this.pinned = pinned;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.dobroz.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only visible once the
+ * transaction has started, after Hibernate has already asked for its connection.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReadYourWritesFilter readYourWrites;
+
+    // Switched off while the replica is being rebuilt or lags too far behind
+    private volatile boolean replicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesFilter readYourWrites,
+                                    boolean replicaReads) {
+        this.readYourWrites = readYourWrites;
+        this.replicaReads = replicaReads;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    public boolean isReplicaReads() {
+        return replicaReads;
+    }
+
+    public void setReplicaReads(boolean replicaReads) {
+        this.replicaReads = replicaReads;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaReads && !readYourWrites.pinnedToPrimary() ? REPLICA : PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            readYourWrites.recordWrite();
+        }
+        return PRIMARY;
+    }
+}
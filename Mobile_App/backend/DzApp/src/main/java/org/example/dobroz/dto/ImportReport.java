@@ -0,0 +1,55 @@
+package org.example.dobroz.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    // Only the first errors are kept so a badly broken file cannot grow the report without bound
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void rowSeen() {
+        totalRows++;
+    }
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void rejectRow(long row, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public record RowError(long row, String message) {
+    }
+}
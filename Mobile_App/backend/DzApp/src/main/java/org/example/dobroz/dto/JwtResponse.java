@@ -9,10 +9,15 @@ public class JwtResponse {
     private Long id;
     private String username;
     private String email;
+    // Opaque, for clients that cannot keep the httpOnly refresh cookie (the mobile app)
+    private String refreshToken;
 
     @JsonIgnore
     private ResponseCookie cookie;
 
+    @JsonIgnore
+    private ResponseCookie refreshCookie;
+
     public JwtResponse(String accessToken, Long id, String username, String email, ResponseCookie cookie) {
         this.accessToken = accessToken;
         this.id = id;
@@ -53,4 +58,21 @@ public class JwtResponse {
     public void setCookie(ResponseCookie cookie) {
         this.cookie = cookie;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    @JsonIgnore
+    public ResponseCookie getRefreshCookie() {
+        return refreshCookie;
+    }
+
+    public void setRefreshCookie(ResponseCookie refreshCookie) {
+        this.refreshCookie = refreshCookie;
+    }
 }
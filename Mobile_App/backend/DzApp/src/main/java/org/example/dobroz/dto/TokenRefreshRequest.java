@@ -0,0 +1,13 @@
+package org.example.dobroz.dto;
+
+public class TokenRefreshRequest {
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
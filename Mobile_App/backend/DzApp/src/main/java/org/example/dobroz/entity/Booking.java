@@ -2,10 +2,16 @@ package org.example.dobroz.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "booking")
+// Indexes are created by the migrations in db/migration; listed here so the mapping documents them
+@Table(name = "booking",
+        indexes = {
+                @Index(name = "ix_booking_user_email", columnList = "user_email, start_time"),
+                @Index(name = "ix_booking_venue_start", columnList = "venue_id, start_time")
+        })
 public class Booking {
 
     @Id
@@ -30,6 +36,9 @@ public class Booking {
     private String status;
     private String venueName;
 
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
     public Booking() {}
 
     public Booking(Venue venue, String userEmail, LocalDateTime startTime, LocalDateTime endTime, String status) {
@@ -64,4 +73,13 @@ public class Booking {
     public String getDate() {
         return "";
     }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    @PrePersist
+    void stampCreatedAt() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
 }
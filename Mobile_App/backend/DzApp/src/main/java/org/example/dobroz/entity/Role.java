@@ -1,8 +1,13 @@
 package org.example.dobroz.entity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Seeded once at startup and never updated
 @Entity
-@Table(name = "roles")
+@Table(name = "roles", indexes = @Index(name = "ux_roles_name", columnList = "name", unique = true))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class Role {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,9 +1,13 @@
 package org.example.dobroz.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "venues") // Explicit table name (optional, but clearer)
+@Table(name = "venues", indexes = @Index(name = "ix_venues_type", columnList = "type"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Venue {
 
     @Id
@@ -0,0 +1,42 @@
+package org.example.dobroz.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+
+/**
+ * Turns on DEBUG and TRACE output of the configured loggers (SQL, bind parameters, Spring Security)
+ * for sampled requests only. Everything else falls through to the normal logger levels, which stay
+ * at INFO, so unsampled requests pay one level comparison per log call. Registered in logback-spring.xml.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+    private String[] prefixes = new String[0];
+
+    // Comma-separated logger names; each also covers its children
+    public void setLoggers(String loggers) {
+        prefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.levelInt >= Level.INFO_INT || MDC.get(RequestLogContextFilter.SAMPLED) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)
+                    && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
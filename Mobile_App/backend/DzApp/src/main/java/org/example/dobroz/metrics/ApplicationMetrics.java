@@ -0,0 +1,59 @@
+package org.example.dobroz.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.dobroz.security.services.OffloadingPasswordEncoder;
+import org.example.dobroz.security.services.TokenDenylistService;
+import org.example.dobroz.security.services.UserDetailsCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges and counters for the in-process caches and the password hashing pool.
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
+    @Autowired
+    TokenDenylistService tokenDenylistService;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.cache.size", userDetailsCache, c -> c.stats().size())
+                .description("Users held in the UserDetails cache")
+                .register(registry);
+        FunctionCounter.builder("user.cache.requests", userDetailsCache, c -> c.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("user.cache.requests", userDetailsCache, c -> c.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("user.cache.evictions", userDetailsCache, c -> c.stats().evictions())
+                .register(registry);
+        FunctionCounter.builder("user.cache.invalidations", userDetailsCache, c -> c.stats().invalidations())
+                .register(registry);
+
+        Gauge.builder("jwt.denylist.size", tokenDenylistService, TokenDenylistService::size)
+                .description("Signed-out tokens that have not expired yet")
+                .register(registry);
+
+        if (passwordEncoder instanceof OffloadingPasswordEncoder pool) {
+            Gauge.builder("password.hash.active", pool, OffloadingPasswordEncoder::getActiveCount)
+                    .description("BCrypt operations running on the hashing pool")
+                    .register(registry);
+            Gauge.builder("password.hash.queued", pool, OffloadingPasswordEncoder::getQueueSize)
+                    .description("BCrypt operations waiting for a hashing thread")
+                    .register(registry);
+            Gauge.builder("password.hash.strength", pool, OffloadingPasswordEncoder::getStrength)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.dobroz.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds the handling controller method (e.g. "BookingController#createBooking") as a tag on
+ * http.server.requests, next to the uri/method/status tags Spring already sets.
+ */
+@Component
+public class ControllerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of("handler", handlerName(handler)));
+    }
+
+    static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
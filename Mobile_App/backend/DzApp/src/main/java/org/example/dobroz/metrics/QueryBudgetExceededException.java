@@ -0,0 +1,11 @@
+package org.example.dobroz.metrics;
+
+/**
+ * Thrown in REJECT mode when a request issues more SQL statements than app.queryGuard.budget allows.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(int statements, int budget, String sql) {
+        super("Request exceeded its query budget of " + budget + " statements at statement " + statements
+                + ": " + sql);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.dobroz.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, as http.server.requests.queries tagged by route,
+ * and reports requests over the query budget with the endpoint that caused them.
+ */
+// Ahead of Spring Security, so the user lookup during authentication is counted too
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class QueryCountFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    @Autowired
+    QueryCounter queryCounter;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // For the load-test harness: reports the count in a response header so clients can check budgets
+    @Value("${app.queryGuard.exposeHeader:false}")
+    private boolean exposeHeader;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return queryCounter.getMode() == QueryCounter.Mode.OFF || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        queryCounter.start();
+        try {
+            filterChain.doFilter(request, exposeHeader ? new QueryCountHeaderResponse(response) : response);
+        } finally {
+            int queries = queryCounter.stop();
+            if (exposeHeader && !response.isCommitted()) {
+                response.setHeader(QUERY_COUNT_HEADER, String.valueOf(queries));
+            }
+            // The route pattern is only known once the request has been dispatched to a handler
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("http.server.requests.queries")
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(queries);
+
+            if (queries > queryCounter.getBudget()) {
+                String handler = ControllerMethodObservationConvention.handlerName(
+                        request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+                Counter.builder("http.server.requests.query.budget.exceeded")
+                        .description("Requests that issued more SQL statements than the query budget")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .tag("handler", handler)
+                        .register(meterRegistry)
+                        .increment();
+                logger.warn("{} {} ({}) issued {} SQL statements, budget is {}",
+                        request.getMethod(), uri, handler, queries, queryCounter.getBudget());
+            }
+        }
+    }
+
+    // Headers must be set before the body commits the response, which happens inside the chain
+    private final class QueryCountHeaderResponse extends OnCommittedResponseWrapper {
+        QueryCountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(queryCounter.current()));
+        }
+    }
+}
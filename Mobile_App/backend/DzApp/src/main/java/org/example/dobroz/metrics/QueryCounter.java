@@ -0,0 +1,92 @@
+package org.example.dobroz.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. QueryCountFilter opens and
+ * closes the count around each request; statements outside a request are not counted.
+ * In REJECT mode the statement past the budget fails, so an N+1 cannot run to completion.
+ */
+@Component
+public class QueryCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public enum Mode {
+        OFF, LOG, REJECT
+    }
+
+    @Value("${app.queryGuard.mode:LOG}")
+    private Mode mode;
+
+    @Value("${app.queryGuard.budget:20}")
+    private int budget;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        int[] count = COUNT.get();
+        if (count != null && ++count[0] > budget && mode == Mode.REJECT) {
+            throw new QueryBudgetExceededException(count[0], budget, sql);
+        }
+        return sql;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Starts counting on this thread; pair with {@link #stop()} in a finally block.
+     * Also usable outside a request, e.g. to assert the statement count of a service call.
+     */
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /** Statements counted since {@link #start()}, without stopping. */
+    public int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    /**
+     * Records the SQL of every statement prepared on this thread until {@link #stopCapture()},
+     * e.g. to EXPLAIN exactly what a repository method sends.
+     */
+    public void startCapture() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    public List<String> stopCapture() {
+        List<String> captured = CAPTURED.get();
+        CAPTURED.remove();
+        return captured == null ? List.of() : captured;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.dobroz.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR's jdk.VirtualThreadPinned events in-process. Each pin is attributed to the first
+ * application frame on its stack (usually a synchronized block around JDBC or file I/O), timed as
+ * jvm.threads.virtual.pinned and listed, worst first, at /actuator/pinning.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "app.virtualThreads.pinningMonitor", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "org.example.dobroz.";
+    private static final int MAX_SITES = 100;
+    private static final int STACK_DEPTH = 12;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Pins shorter than this are not recorded by JFR at all
+    @Value("${app.virtualThreads.pinningThresholdMs:20}")
+    private long thresholdMs;
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Watching for virtual threads pinned longer than {} ms", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> report() {
+        return sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Site> e) -> e.getValue().totalNanos.get()).reversed())
+                .map(e -> Map.<String, Object>of(
+                        "site", e.getKey(),
+                        "count", e.getValue().count.get(),
+                        "totalMs", e.getValue().totalNanos.get() / 1_000_000.0,
+                        "maxMs", e.getValue().maxNanos.get() / 1_000_000.0,
+                        "stack", e.getValue().stack))
+                .toList();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace trace = event.getStackTrace();
+        List<RecordedFrame> frames = trace != null ? trace.getFrames() : List.of();
+        String site = site(frames);
+        if (!sites.containsKey(site) && sites.size() >= MAX_SITES) {
+            site = "other";
+        }
+
+        long nanos = event.getDuration().toNanos();
+        Site stats = sites.computeIfAbsent(site, s -> {
+            String stack = frames.stream().limit(STACK_DEPTH).map(VirtualThreadPinningMonitor::describe)
+                    .collect(Collectors.joining("\n"));
+            logger.warn("Virtual thread pinned for {} ms at {}\n{}", event.getDuration().toMillis(), s, stack);
+            return new Site(stack);
+        });
+        stats.count.incrementAndGet();
+        stats.totalNanos.addAndGet(nanos);
+        stats.maxNanos.accumulate(nanos);
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static final class Site {
+        final String stack;
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        Site(String stack) {
+            this.stack = stack;
+        }
+    }
+}
@@ -2,9 +2,18 @@ package org.example.dobroz.repository;
 
 import org.example.dobroz.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    // Read-only, so it is served by the replica when one is configured
+    @Transactional(readOnly = true)
     List<Booking> findByUserEmail(String userEmail);
+
+    // Venues come in the same statement instead of one load per booking
+    @Transactional(readOnly = true)
+    @Query("select b from Booking b join fetch b.venue")
+    List<Booking> findAllWithVenue();
 }
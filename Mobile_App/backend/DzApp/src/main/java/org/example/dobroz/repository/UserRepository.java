@@ -1,13 +1,54 @@
 package org.example.dobroz.repository;
 import org.example.dobroz.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // User and roles in one joined select instead of a second query for the lazy collection
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByUsername(String username);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    // A union instead of "username = ? or email = ?", so each half is a lookup on its own unique index
+    @Query(value = "select username, email from users where username = :username"
+            + " union select username, email from users where email = :email", nativeQuery = true)
+    List<UserIdentityView> findIdentityClashes(@Param("username") String username, @Param("email") String email);
+
+    @Query(value = "select username, email from users where username in (:usernames)"
+            + " union select username, email from users where email in (:emails)", nativeQuery = true)
+    List<UserIdentityView> findIdentityClashes(@Param("usernames") Collection<String> usernames,
+                                               @Param("emails") Collection<String> emails);
+
+    // Only users whose tokens were ever revoked carry a non-zero version, so this stays small
+    @Query("select u.username as username, u.tokenVersion as tokenVersion from User u where u.tokenVersion > 0")
+    List<TokenVersionView> findRevokedTokenVersions();
+
+    @Query("select coalesce(u.tokenVersion, 0) from User u where u.username = :username")
+    Optional<Integer> findTokenVersionByUsername(@Param("username") String username);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.tokenVersion = coalesce(u.tokenVersion, 0) + 1 where u.username = :username")
+    int incrementTokenVersion(@Param("username") String username);
+
+    interface UserIdentityView {
+        String getUsername();
+        String getEmail();
+    }
+
+    interface TokenVersionView {
+        String getUsername();
+        Integer getTokenVersion();
+    }
 }
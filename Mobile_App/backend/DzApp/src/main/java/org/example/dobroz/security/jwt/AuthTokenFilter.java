@@ -2,6 +2,12 @@ package org.example.dobroz.security.jwt;
 
 import java.io.IOException;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.example.dobroz.security.services.TokenDenylistService;
+import org.example.dobroz.security.services.TokenVersionService;
 import org.example.dobroz.security.services.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,12 +16,19 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
@@ -23,17 +36,55 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private TokenDenylistService tokenDenylistService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // When on, the principal is built from the token's claims and requests never query the users table
+    @Value("${app.jwtStateless:false}")
+    private boolean stateless;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    // Only the token work is timed, not the rest of the chain
+    private Timer authenticatedTimer;
+    private Timer anonymousTimer;
+    private Timer rejectedTimer;
+
+    @PostConstruct
+    public void init() {
+        authenticatedTimer = timer("authenticated");
+        anonymousTimer = timer("anonymous");
+        rejectedTimer = timer("rejected");
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("jwt.filter")
+                .description("Time spent authenticating a request from its JWT cookie")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
+        Timer outcome = anonymousTimer;
         try {
-            String jwt = jwtUtils.getJwtFromCookies(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            String jwt = jwtUtils.getJwtFromRequest(request);
+            // One verification pass yields every claim we need
+            Claims claims = jwt != null ? jwtUtils.getValidatedClaims(jwt) : null;
+            if (claims != null && isCurrent(claims)) {
+                String username = claims.getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = stateless
+                        ? principalFromClaims(username, claims)
+                        : userDetailsService.loadUserByUsername(username);
 
                 // This will include authorities (roles) from userDetails
                 UsernamePasswordAuthenticationToken authentication =
@@ -45,11 +96,45 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = authenticatedTimer;
+            } else if (jwt != null) {
+                outcome = rejectedTimer;
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage(), e);
+            outcome = rejectedTimer;
         }
+        outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
+
+    // Signed-out tokens, and tokens issued before a role change, ban or global epoch bump, are no longer honoured
+    private boolean isCurrent(Claims claims) {
+        if (tokenDenylistService.isRevoked(claims.getId())) {
+            logger.warn("Rejected signed-out JWT for user {}", claims.getSubject());
+            return false;
+        }
+        Integer version = claims.get(JwtUtils.CLAIM_VERSION, Integer.class);
+        Integer epoch = claims.get(JwtUtils.CLAIM_EPOCH, Integer.class);
+        boolean current = tokenVersionService.isCurrent(claims.getSubject(),
+                version == null ? 0 : version,
+                epoch == null ? 0 : epoch);
+        if (!current) {
+            logger.warn("Rejected revoked JWT for user {}", claims.getSubject());
+        }
+        return current;
+    }
+
+    private UserDetails principalFromClaims(String username, Claims claims) {
+        List<?> roles = claims.get(JwtUtils.CLAIM_ROLES, List.class);
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        if (roles != null) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+            }
+        }
+        // No password: this principal is never used to authenticate again
+        return new User(username, "", authorities);
+    }
 }
\ No newline at end of file
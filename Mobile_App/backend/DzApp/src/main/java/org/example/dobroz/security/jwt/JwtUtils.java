@@ -2,11 +2,15 @@ package org.example.dobroz.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import org.example.dobroz.security.services.TokenVersionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -20,12 +24,20 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_VERSION = "ver";
+    public static final String CLAIM_EPOCH = "epoch";
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
@@ -35,9 +47,36 @@ public class JwtUtils {
     @Value("${app.jwtCookieName}")
     private String jwtCookie;
 
-    public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+    @Value("${app.jwtRefreshCookieName:jwt-refresh-token}")
+    private String jwtRefreshCookie;
+
+    @Value("${app.jwtRefreshExpirationMs:1209600000}")
+    private long jwtRefreshExpirationMs;
+
+    @Value("${app.jwtCacheSize:10000}")
+    private int jwtCacheSize;
+
+    // Built once; both are immutable and safe to share between request threads
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = new VerifiedTokenCache(jwtCacheSize);
+    }
+
+    public String generateJwtToken(Authentication authentication, int tokenVersion) {
+        return generateJwtToken((UserDetails) authentication.getPrincipal(), tokenVersion);
+    }
 
+    /**
+     * @param tokenVersion the user's token version as just read from the database; the in-memory copy
+     *                     only catches up on its next poll, so it is used as a floor, never as the source
+     */
+    public String generateJwtToken(UserDetails userPrincipal, int tokenVersion) {
         // Extract roles from authorities
         List<String> roles = userPrincipal.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
@@ -45,22 +84,26 @@ public class JwtUtils {
 
         // Create claims with username and roles
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", roles);
+        claims.put(CLAIM_ROLES, roles);
+        // Revocation markers checked by the stateless filter path
+        claims.put(CLAIM_VERSION,
+                Math.max(tokenVersion, tokenVersionService.currentVersion(userPrincipal.getUsername())));
+        claims.put(CLAIM_EPOCH, tokenVersionService.currentEpoch());
 
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userPrincipal.getUsername())
+                .setId(UUID.randomUUID().toString()) // jti, the key signout revokes by
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public ResponseCookie generateJwtCookie(Authentication authentication) {
-        String jwt = generateJwtToken(authentication);
+    public ResponseCookie generateJwtCookie(String jwt) {
         return ResponseCookie.from(jwtCookie, jwt)
                 .path("/")
-                .maxAge(24 * 60 * 60) // 1 day in seconds
+                .maxAge(jwtExpirationMs / 1000) // lives exactly as long as the token inside it
                 .httpOnly(true)
                 .secure(true) // Set to true for HTTPS
                 .sameSite("Strict") // Protection against CSRF
@@ -77,6 +120,42 @@ public class JwtUtils {
                 .build();
     }
 
+    // Only sent to the auth endpoints, so the refresh token never travels with ordinary API calls
+    public ResponseCookie generateRefreshCookie(String refreshToken) {
+        return ResponseCookie.from(jwtRefreshCookie, refreshToken)
+                .path("/api/auth")
+                .maxAge(jwtRefreshExpirationMs / 1000)
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Strict")
+                .build();
+    }
+
+    public ResponseCookie getCleanRefreshCookie() {
+        return ResponseCookie.from(jwtRefreshCookie, "")
+                .path("/api/auth")
+                .maxAge(0)
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Strict")
+                .build();
+    }
+
+    public String getRefreshTokenFromCookies(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, jwtRefreshCookie);
+        return cookie != null ? cookie.getValue() : null;
+    }
+
+    // Browsers send the auth cookie; the mobile app sends the access token as a Bearer header
+    public String getJwtFromRequest(HttpServletRequest request) {
+        String jwt = getJwtFromCookies(request);
+        if (jwt != null) {
+            return jwt;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+    }
+
     public String getJwtFromCookies(HttpServletRequest request) {
         Cookie cookie = WebUtils.getCookie(request, jwtCookie);
         if (cookie != null) {
@@ -87,32 +166,39 @@ public class JwtUtils {
     }
 
     private Key key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
+    // Thin views over getValidatedClaims, so they share its cache; null when the token is not valid
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = getValidatedClaims(token);
+        return claims == null ? null : claims.getSubject();
     }
 
     public List<String> getRolesFromJwtToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("roles", List.class);
+        Claims claims = getValidatedClaims(token);
+        List<?> roles = claims == null ? null : claims.get(CLAIM_ROLES, List.class);
+        return roles == null ? null : roles.stream().map(String::valueOf).collect(Collectors.toList());
     }
 
     public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
+    }
+
+    /**
+     * Verifies the token once and returns all of its claims, or null when it is not valid.
+     * Tokens that already passed verification are served from the cache until they expire.
+     */
+    public Claims getValidatedClaims(String authToken) {
+        Claims cached = verifiedTokens.get(authToken);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            verifiedTokens.put(authToken, claims);
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -125,6 +211,6 @@ public class JwtUtils {
             logger.error("JWT validation error: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 }
\ No newline at end of file
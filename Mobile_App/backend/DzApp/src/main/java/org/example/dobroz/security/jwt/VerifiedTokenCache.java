@@ -0,0 +1,106 @@
+package org.example.dobroz.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by the SHA-256 of the token.
+ * An entry is only served until the token's own expiry; a full cache first drops expired entries and
+ * otherwise stops admitting new tokens until space frees up.
+ */
+public class VerifiedTokenCache {
+    private final int maxEntries;
+    private final Map<TokenHash, Entry> entries;
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, Math.min(maxEntries, 1 << 16)));
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public Claims get(String token) {
+        if (!isEnabled()) {
+            return null;
+        }
+        TokenHash key = TokenHash.of(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    public void put(String token, Claims claims) {
+        if (!isEnabled() || claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(TokenHash.of(token), new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    public void invalidate(String token) {
+        if (isEnabled()) {
+            entries.remove(TokenHash.of(token));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.expiresAtMillis() <= now);
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+
+    private static final class TokenHash {
+        private final byte[] digest;
+        private final int hash;
+
+        private TokenHash(byte[] digest) {
+            this.digest = digest;
+            // The digest is already uniformly distributed, so its first bytes make a fine hash code
+            this.hash = (digest[0] & 0xff) << 24 | (digest[1] & 0xff) << 16 | (digest[2] & 0xff) << 8 | (digest[3] & 0xff);
+        }
+
+        static TokenHash of(String token) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                return new TokenHash(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenHash other && Arrays.equals(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
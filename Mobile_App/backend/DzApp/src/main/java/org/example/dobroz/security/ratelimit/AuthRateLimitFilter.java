@@ -0,0 +1,224 @@
+package org.example.dobroz.security.ratelimit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Throttles /api/auth/signin and /api/auth/signup per client IP and per username before any
+ * password hashing happens. Runs ahead of the Spring Security chain.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    // Login and signup bodies are tiny; anything bigger is rejected before it is parsed
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+    // Bucket for bodies without a readable username: the sign-in still runs a dummy BCrypt check for them
+    private static final String NO_USERNAME = "";
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Value("${app.rateLimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rateLimit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${app.rateLimit.ip.refillPerMinute:20}")
+    private double ipRefillPerMinute;
+
+    @Value("${app.rateLimit.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${app.rateLimit.username.refillPerMinute:5}")
+    private double usernameRefillPerMinute;
+
+    @Value("${app.rateLimit.trustForwardedFor:false}")
+    private boolean trustForwardedFor;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter usernameLimiter;
+
+    @PostConstruct
+    void init() {
+        ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute);
+        usernameLimiter = new TokenBucketLimiter(usernameCapacity, usernameRefillPerMinute);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !"/api/auth/signin".equals(path) && !"/api/auth/signup".equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long ipWait = ipLimiter.tryAcquire(clientIp(request));
+        if (ipWait > 0) {
+            reject(response, ipWait);
+            return;
+        }
+
+        // Content-Length is only a hint: chunked bodies have none, so the read itself is bounded
+        if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+            rejectTooLarge(response);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            rejectTooLarge(response);
+            return;
+        }
+
+        String username = extractUsername(body);
+        String key = username != null ? username.toLowerCase(Locale.ROOT) : NO_USERNAME;
+        long userWait = usernameLimiter.tryAcquire(key);
+        if (userWait > 0) {
+            reject(response, userWait);
+            return;
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rateLimit.evictIdleMs:60000}")
+    public void evictIdleBuckets() {
+        int evicted = ipLimiter.evictIdle() + usernameLimiter.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate-limit buckets", evicted);
+        }
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitMs) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMs + 999) / 1000);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Error: Too many requests, retry in " + retryAfterSeconds + " seconds");
+    }
+
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Error: Request body is larger than " + MAX_BODY_BYTES + " bytes");
+    }
+
+    // Only the top-level "username" field is read; the controller does the real binding. Matches what
+    // Jackson binds: scalars are taken as text, and of duplicate fields the last one wins.
+    private static String extractUsername(byte[] body) {
+        String username = null;
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("username".equals(field)) {
+                    username = value.isScalarValue() ? parser.getValueAsString() : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Malformed JSON is left to the controller's validation
+            return null;
+        }
+        return username;
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is ready as soon as a listener is set
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
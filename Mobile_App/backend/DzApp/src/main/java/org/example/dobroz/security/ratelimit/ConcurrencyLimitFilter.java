@@ -0,0 +1,132 @@
+package org.example.dobroz.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Load shedding in front of AuthTokenFilter. When MySQL slows down, latency rises and the adaptive limit
+ * falls, so excess requests get an immediate 503 instead of queueing in Tomcat until they time out.
+ * Booking writes may fill the whole limit; everything else only the part not reserved for them.
+ * Endpoints that are slow by design (BCrypt, thumbnails, bulk uploads) count towards the limit but are left
+ * out of the latency samples, so a burst of them does not read as a slow backend.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.concurrencyLimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.concurrencyLimit.initialLimit:20}")
+    private int initialLimit;
+
+    @Value("${app.concurrencyLimit.minLimit:4}")
+    private int minLimit;
+
+    @Value("${app.concurrencyLimit.maxLimit:200}")
+    private int maxLimit;
+
+    // Latency may grow this much over the baseline before the limit starts to shrink
+    @Value("${app.concurrencyLimit.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${app.concurrencyLimit.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.concurrencyLimit.windowMs:100}")
+    private long windowMs;
+
+    // Share of the limit only booking writes may use
+    @Value("${app.concurrencyLimit.reservedForWrites:0.2}")
+    private double reservedForWrites;
+
+    private GradientConcurrencyLimit limit;
+    private Counter shedWrites;
+    private Counter shedReads;
+
+    @PostConstruct
+    public void init() {
+        limit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing, windowMs);
+        Gauge.builder("http.server.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.inflight", limit, GradientConcurrencyLimit::getInflight)
+                .description("Requests admitted by the concurrency limiter and still running")
+                .register(meterRegistry);
+        shedWrites = shedCounter("booking-write");
+        shedReads = shedCounter("other");
+    }
+
+    private Counter shedCounter(String priority) {
+        return Counter.builder("http.server.concurrency.shed")
+                .description("Requests rejected with 503 by the concurrency limiter")
+                .tag("priority", priority)
+                .register(meterRegistry);
+    }
+
+    // Health checks and CORS preflights are cheap and must answer even under overload
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod()) || request.getServletPath().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean bookingWrite = isBookingWrite(request);
+        if (!limit.tryAcquire(bookingWrite ? 1.0 : 1.0 - reservedForWrites)) {
+            (bookingWrite ? shedWrites : shedReads).increment();
+            reject(response);
+            return;
+        }
+
+        boolean sampled = !isSlowByDesign(request);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            // A 503 is the app shedding load itself (the hashing pool is full), not the backend failing
+            int status = response.getStatus();
+            failed = status >= 500 && status != HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+        } finally {
+            if (sampled) {
+                limit.release(System.nanoTime() - start, failed);
+            } else {
+                limit.releaseUnsampled(failed);
+            }
+        }
+    }
+
+    private static boolean isBookingWrite(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) && request.getServletPath().startsWith("/api/bookings");
+    }
+
+    // Sign-in and signup hash with BCrypt (bulk signup for every row), thumbnails fetch and resize
+    // remote images, and the venue import streams a whole upload
+    private static boolean isSlowByDesign(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.equals("/api/auth/signin")
+                || path.startsWith("/api/auth/signup")
+                || path.equals("/api/venues/import")
+                || (path.startsWith("/api/venues/") && path.contains("/thumbnail/"));
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Error: Server is busy, retry shortly");
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.dobroz.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to latency, after the gradient algorithm in Netflix's concurrency-limits.
+ * Every window, the average latency of the window (short RTT) is compared with a slow-moving baseline
+ * (long RTT). While they match, the limit grows by roughly its square root; once latency rises above
+ * the baseline times the tolerance, the limit shrinks in proportion. A window with a failed request
+ * (5xx or exception) backs the limit off by a tenth.
+ *
+ * Callers pass the share of the limit their priority may fill, so low-priority work is turned away
+ * while headroom is still left for high-priority work.
+ */
+public class GradientConcurrencyLimit {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    // Long RTT as an exponential average over about 20 windows
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger peakInflight = new AtomicInteger();
+    private final LongAdder rttSumNanos = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final AtomicBoolean dropped = new AtomicBoolean();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile double limit;
+    private volatile long windowStart = System.nanoTime();
+    // Guarded by updateLock
+    private double longRttNanos;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                                    long windowMs) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowMs * 1_000_000;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Admits a request if fewer than {@code share} of the limit are in flight. Every admitted request
+     * must be followed by exactly one {@link #release}.
+     */
+    public boolean tryAcquire(double share) {
+        int cap = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= cap) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                peakInflight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean failed) {
+        inflight.decrementAndGet();
+        if (failed) {
+            dropped.set(true);
+        } else {
+            rttSumNanos.add(rttNanos);
+            rttCount.increment();
+        }
+
+        long now = System.nanoTime();
+        // One thread closes the window; the others carry on without waiting
+        if (now - windowStart >= windowNanos && updateLock.tryLock()) {
+            try {
+                if (now - windowStart >= windowNanos) {
+                    update(now);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Releases a request whose latency says nothing about the shared backend; a failure still backs off.
+     */
+    public void releaseUnsampled(boolean failed) {
+        inflight.decrementAndGet();
+        if (failed) {
+            dropped.set(true);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void update(long now) {
+        long count = rttCount.sumThenReset();
+        long sum = rttSumNanos.sumThenReset();
+        boolean failed = dropped.getAndSet(false);
+        int peak = peakInflight.getAndSet(inflight.get());
+        windowStart = now;
+
+        double current = limit;
+        double next;
+        if (failed) {
+            next = current * BACKOFF_RATIO;
+        } else if (count == 0) {
+            return;
+        } else {
+            double shortRtt = (double) sum / count;
+            longRttNanos = longRttNanos == 0
+                    ? shortRtt
+                    : longRttNanos * LONG_RTT_DECAY + shortRtt * (1 - LONG_RTT_DECAY);
+            // After a slow spell the baseline would stay inflated for a long time; pull it down faster
+            if (longRttNanos > shortRtt * 2) {
+                longRttNanos *= LONG_RTT_DECAY;
+            }
+            // Far below the limit says nothing about what the backend could take, so do not grow
+            if (peak < current / 2) {
+                return;
+            }
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+            double target = current * gradient + Math.sqrt(current);
+            next = current * (1 - smoothing) + target * smoothing;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
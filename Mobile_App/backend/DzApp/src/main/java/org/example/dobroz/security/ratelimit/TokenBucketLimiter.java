@@ -0,0 +1,76 @@
+package org.example.dobroz.security.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by string, each packed into a single AtomicLong and updated with CAS.
+ * Buckets refill lazily on access; nothing runs per key in the background.
+ *
+ * Packed state: the high 22 bits hold the token count in thousandths, the low 42 bits the
+ * millisecond (relative to the limiter's start) the count was last brought up to date.
+ */
+public class TokenBucketLimiter {
+    private static final int TIME_BITS = 42;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long MILLI = 1000;
+    private static final long MAX_MILLITOKENS = (1L << (64 - TIME_BITS - 1)) - 1;
+
+    private final long capacityMilli;
+    private final double refillMilliPerMs;
+    private final long startMillis = System.currentTimeMillis();
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, double refillPerMinute) {
+        this.capacityMilli = Math.min(capacity * MILLI, MAX_MILLITOKENS);
+        this.refillMilliPerMs = refillPerMinute * MILLI / 60_000d;
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when allowed, otherwise the milliseconds until a token is available.
+     */
+    public long tryAcquire(String key) {
+        long now = System.currentTimeMillis() - startMillis;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            // A new key starts full, so its first request takes a token straight away
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(capacityMilli, now)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long tokens = refill(state, now);
+            if (tokens < MILLI) {
+                return (long) Math.ceil((MILLI - tokens) / refillMilliPerMs);
+            }
+            if (bucket.compareAndSet(state, pack(tokens - MILLI, now))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled to capacity; forgetting a full bucket changes nothing.
+     */
+    public int evictIdle() {
+        long now = System.currentTimeMillis() - startMillis;
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> refill(bucket.get(), now) >= capacityMilli);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private long refill(long state, long now) {
+        long tokens = state >>> TIME_BITS;
+        long last = state & TIME_MASK;
+        long elapsed = Math.max(0, now - last);
+        return Math.min(capacityMilli, tokens + (long) (elapsed * refillMilliPerMs));
+    }
+
+    private static long pack(long milliTokens, long now) {
+        return (milliTokens << TIME_BITS) | (now & TIME_MASK);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.dobroz.security.services;
+
+/**
+ * Thrown when a refresh token is unknown, expired, revoked or presented a second time.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
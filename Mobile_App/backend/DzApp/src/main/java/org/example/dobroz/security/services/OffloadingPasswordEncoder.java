@@ -0,0 +1,176 @@
+package org.example.dobroz.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt on a dedicated, core-sized pool with a bounded queue, so a login burst cannot occupy every
+ * request thread. When the queue is full the call fails at once with PasswordHashingBusyException.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(OffloadingPasswordEncoder.class);
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 14;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long waitMs;
+
+    public OffloadingPasswordEncoder(int strength, int threads, int queueSize, long waitMs) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.waitMs = waitMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+        logger.info("Password hashing: BCrypt cost {}, {} threads, queue of {}", strength, threads, queueSize);
+    }
+
+    /**
+     * Picks the highest BCrypt cost whose hash still takes no longer than the target on this machine.
+     * Takes a second or more of CPU, so it is only run off the startup path, by PasswordCostCheck.
+     */
+    public static int calibrate(long targetMs) {
+        int chosen = MIN_STRENGTH;
+        for (int cost = MIN_STRENGTH; cost <= MAX_STRENGTH; cost++) {
+            BCryptPasswordEncoder probe = new BCryptPasswordEncoder(cost);
+            probe.encode("warm-up");
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.debug("BCrypt cost {} takes {} ms", cost, elapsedMs);
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = cost;
+            // Each step doubles the work, so stop before the next probe alone would blow the budget
+            if (elapsedMs * 2 > targetMs) {
+                break;
+            }
+        }
+        logger.info("Calibrated BCrypt cost {} for a {} ms target", chosen, targetMs);
+        return chosen;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes a batch with at most half the pool's threads busy at a time, so sign-ins keep the other half.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int inFlight = Math.max(1, executor.getCorePoolSize() / 2);
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> pending = new ArrayDeque<>(inFlight);
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (pending.size() == inFlight) {
+                    hashes.add(await(pending.removeFirst()));
+                }
+                pending.addLast(enqueue(() -> delegate.encode(rawPassword)));
+            }
+            while (!pending.isEmpty()) {
+                hashes.add(await(pending.removeFirst()));
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+        return hashes;
+    }
+
+    // Rehash on login whenever the stored cost differs from the configured one, downwards too: an
+    // over-costed hash makes every sign-in of that user pay for it. The cost is pinned in configuration,
+    // so nodes that share the user table agree on it as long as it is changed on all of them together.
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        return await(enqueue(task));
+    }
+
+    private <T> Future<T> enqueue(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many concurrent sign-in requests, please retry shortly");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException("Password check timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Password check was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
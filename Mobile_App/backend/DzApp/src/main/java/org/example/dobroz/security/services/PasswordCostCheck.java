@@ -0,0 +1,42 @@
+package org.example.dobroz.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures which BCrypt cost meets the hashing target on this machine, in the background once the app is up,
+ * and says so when it differs from the pinned cost. It only advises: the cost in use never changes at runtime.
+ */
+@Component
+public class PasswordCostCheck {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordCostCheck.class);
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Value("${app.passwordHashing.targetMs:250}")
+    private long targetMs;
+
+    @Value("${app.passwordHashing.calibrate:true}")
+    private boolean enabled;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        if (!enabled || !(passwordEncoder instanceof OffloadingPasswordEncoder pool)) {
+            return;
+        }
+        int measured = OffloadingPasswordEncoder.calibrate(targetMs);
+        if (measured != pool.getStrength()) {
+            logger.warn("BCrypt cost {} is configured, but cost {} meets the {} ms target on this machine; "
+                    + "set app.passwordHashing.strength on every node to change it", pool.getStrength(), measured, targetMs);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.dobroz.security.services;
+
+/**
+ * Thrown when the password hashing pool is saturated and the request is shed instead of queued.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
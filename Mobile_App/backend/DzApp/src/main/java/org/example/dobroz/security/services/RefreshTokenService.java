@@ -0,0 +1,131 @@
+package org.example.dobroz.security.services;
+
+import org.example.dobroz.entity.RefreshToken;
+import org.example.dobroz.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens paired with short-lived access JWTs. Only the SHA-256 of a token is stored;
+ * every refresh is one lookup on the unique hash index and rotates the token. Presenting a token that
+ * was already rotated revokes its whole family and bumps the user's token version.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    TokenVersionService tokenVersionService;
+
+    @Value("${app.jwtRefreshExpirationMs:1209600000}")
+    private long refreshExpirationMs;
+
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
+    /** Starts a new token family at sign-in and returns the raw token for the client. */
+    @Transactional
+    public String issue(String username) {
+        return create(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     * Runs in its own transaction so a detected reuse stays revoked even though the caller gets an error.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is missing");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token is not recognised"));
+
+        if (current.isRevoked()) {
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidRefreshTokenException("Refresh token is expired");
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), Instant.now()) == 0) {
+            // A rotated token came back: either the client or an attacker holds a stolen copy
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            tokenVersionService.revokeTokens(current.getUsername());
+            logger.warn("Refresh token reuse detected for user {}, family {} revoked",
+                    current.getUsername(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        String next = create(current.getUsername(), current.getFamilyId());
+        return new Rotation(current.getUsername(), next);
+    }
+
+    /** Sign-out: the token and everything rotated from it stop working. Unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /** Signs the user out everywhere: refresh tokens are revoked and outstanding access tokens too. */
+    @Transactional
+    public void revokeAll(String username) {
+        refreshTokenRepository.revokeAllForUser(username);
+        tokenVersionService.revokeTokens(username);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwtRefreshPurgeMs:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String create(String username, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(raw), username, familyId,
+                Instant.now().plusMillis(refreshExpirationMs)));
+        return raw;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(String username, String refreshToken) {
+    }
+}
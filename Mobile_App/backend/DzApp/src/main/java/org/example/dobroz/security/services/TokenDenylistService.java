@@ -0,0 +1,135 @@
+package org.example.dobroz.security.services;
+
+import jakarta.annotation.PostConstruct;
+import org.example.dobroz.entity.RevokedToken;
+import org.example.dobroz.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signed-out access tokens, keyed by jti. Each entry lives only until the token's own expiry.
+ * A Bloom filter answers the common "not revoked" case without touching the map, and other
+ * nodes pick up revocations by polling the revoked_tokens change table.
+ */
+@Service
+public class TokenDenylistService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylistService.class);
+
+    @Autowired
+    RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwtDenylist.expectedEntries:100000}")
+    private int expectedEntries;
+
+    @Value("${app.jwtDenylist.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    // Ids below the highest one seen that are read again on every poll, see poll()
+    @Value("${app.jwtDenylist.pollOverlapIds:1000}")
+    private long pollOverlapIds;
+
+    // jti -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile JtiBloomFilter filter;
+    private volatile long lastSeenId;
+
+    @PostConstruct
+    public void init() {
+        filter = new JtiBloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Denies the token on this node immediately and on the others after their next poll.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        remember(jti, expiresAt.toEpochMilli());
+        try {
+            revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            // Already revoked, e.g. a double signout
+        }
+    }
+
+    /**
+     * Auto-increment ids are handed out at insert time, not at commit, so a row can become visible after a
+     * higher id has already been read. Each poll therefore re-reads the last pollOverlapIds ids as well;
+     * rows already known are skipped by jti.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.jwtDenylist.pollMs:5000}")
+    public void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            long cursor = Math.max(0L, lastSeenId - pollOverlapIds);
+            List<RevokedToken> changes;
+            do {
+                changes = revokedTokenRepository.findTop1000ByIdGreaterThanOrderByIdAsc(cursor);
+                for (RevokedToken change : changes) {
+                    long expiresAt = change.getExpiresAt().toEpochMilli();
+                    if (expiresAt > now && !revoked.containsKey(change.getJti())) {
+                        remember(change.getJti(), expiresAt);
+                    }
+                    cursor = change.getId();
+                }
+            } while (changes.size() == 1000);
+            lastSeenId = Math.max(lastSeenId, cursor);
+        } catch (RuntimeException e) {
+            logger.warn("Could not poll revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops expired entries and rebuilds the Bloom filter without them, so it does not fill up over time.
+     */
+    @Scheduled(fixedDelayString = "${app.jwtDenylist.purgeMs:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        synchronized (this) {
+            // Under the same lock as remember(), so no revocation lands in the filter being replaced
+            JtiBloomFilter rebuilt = new JtiBloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+
+        try {
+            int purged = revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+            if (purged > 0) {
+                logger.info("Purged {} expired revoked tokens", purged);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not purge revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Map first, then filter: a reader that sees the filter bit always finds the entry
+    private synchronized void remember(String jti, long expiresAtMillis) {
+        revoked.merge(jti, expiresAtMillis, Math::max);
+        filter.add(jti);
+    }
+}
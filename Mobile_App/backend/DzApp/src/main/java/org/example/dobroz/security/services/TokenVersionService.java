@@ -0,0 +1,85 @@
+package org.example.dobroz.security.services;
+
+import org.example.dobroz.entity.User;
+import org.example.dobroz.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory copy of the per-user token versions, so a JWT can be checked for revocation without a query.
+ * Only users that were ever revoked have a version above zero; everyone else is implicitly at zero.
+ * Other nodes pick up revocations on the next poll.
+ */
+@Service
+public class TokenVersionService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionService.class);
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
+    // Tokens carrying an older epoch claim are rejected, which revokes every token at once
+    @Value("${app.jwtEpoch:0}")
+    private int jwtEpoch;
+
+    private volatile Map<String, Integer> versions = Map.of();
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.jwtVersionPollMs:30000}")
+    public void refresh() {
+        try {
+            Map<String, Integer> loaded = new HashMap<>();
+            for (UserRepository.TokenVersionView view : userRepository.findRevokedTokenVersions()) {
+                loaded.put(view.getUsername(), view.getTokenVersion());
+            }
+            synchronized (this) {
+                // Never step back below a version this node bumped itself but the poll has not seen yet
+                Map<String, Integer> current = versions;
+                current.forEach((user, version) -> loaded.merge(user, version, Math::max));
+                versions = Map.copyOf(loaded);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh token versions: {}", e.getMessage());
+        }
+    }
+
+    public int currentVersion(String username) {
+        return versions.getOrDefault(username, 0);
+    }
+
+    public int currentEpoch() {
+        return jwtEpoch;
+    }
+
+    public boolean isCurrent(String username, int tokenVersion, int tokenEpoch) {
+        return tokenEpoch >= jwtEpoch && tokenVersion >= currentVersion(username);
+    }
+
+    /**
+     * Invalidates every token issued to the user so far, e.g. after a role change, password change or ban.
+     */
+    @Transactional
+    public void revokeTokens(String username) {
+        userRepository.incrementTokenVersion(username);
+        int version = userRepository.findByUsername(username)
+                .map(User::getTokenVersion)
+                .orElse(0);
+        synchronized (this) {
+            Map<String, Integer> updated = new HashMap<>(versions);
+            updated.merge(username, version, Math::max);
+            versions = Map.copyOf(updated);
+        }
+        // Roles or password changed along with the revocation, so the cached user is stale too
+        userDetailsCache.invalidate(username);
+        logger.info("Revoked all tokens of user {}", username);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.dobroz.security.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-based cache of loaded users in front of UserDetailsServiceImpl.
+ * Entries are handed out as copies, because Spring Security erases credentials on the instance it authenticates.
+ */
+@Component
+public class UserDetailsCache {
+    @Value("${app.userCache.maxSize:10000}")
+    private int maxSize;
+
+    @Value("${app.userCache.ttlMs:60000}")
+    private long ttlMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserDetails get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(username, entry);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return User.withUserDetails(entry.user()).build();
+    }
+
+    public void put(UserDetails user) {
+        if (maxSize <= 0 || ttlMs <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        UserDetails copy = User.withUserDetails(user).build();
+        entries.put(user.getUsername(), new Entry(copy, System.currentTimeMillis() + ttlMs));
+    }
+
+    public void invalidate(String username) {
+        if (entries.remove(username) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(entries.size(), hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+
+    // Drop expired entries first; if that is not enough, shed a tenth of the cache
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(e -> e.expiresAtMillis() <= now);
+
+        int toShed = entries.size() >= maxSize ? Math.max(1, maxSize / 10) : 0;
+        Iterator<String> it = entries.keySet().iterator();
+        while (toShed-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        evictions.addAndGet(Math.max(0, before - entries.size()));
+    }
+
+    private record Entry(UserDetails user, long expiresAtMillis) {
+    }
+
+    public record Stats(int size, long hits, long misses, long evictions, long invalidations) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -4,23 +4,25 @@ import jakarta.validation.Valid;
 import org.example.dobroz.dto.JwtResponse;
 import org.example.dobroz.dto.LoginRequest;
 import org.example.dobroz.dto.SignupRequest;
-import org.example.dobroz.entity.ERole;
 import org.example.dobroz.entity.Role;
 import org.example.dobroz.entity.User;
-import org.example.dobroz.repository.RoleRepository;
 import org.example.dobroz.repository.UserRepository;
 import org.example.dobroz.security.jwt.JwtUtils;
+import org.example.dobroz.security.services.RefreshTokenService;
+import org.example.dobroz.security.services.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
 import java.util.Set;
 
 @Service
@@ -32,7 +34,7 @@ public class AuthService {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleCache roleCache;
 
     @Autowired
     PasswordEncoder encoder;
@@ -40,6 +42,15 @@ public class AuthService {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    UserDetailsService userDetailsService;
+
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
     // ✅ Sign in logic
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -47,26 +58,53 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String token = jwtUtils.generateJwtToken(authentication); // ✅ get the actual token string
-        ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(authentication); // ✅ cookie as before
-
         User user = userRepository.findByUsername(loginRequest.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Stamped from the row just read, so a revocation on another node is already reflected
+        String token = jwtUtils.generateJwtToken(authentication, user.getTokenVersion()); // ✅ get the actual token string
+        ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(token); // ✅ same token in the cookie
 
         // ✅ pass token string too
-        return new JwtResponse(
+        JwtResponse response = new JwtResponse(
                 token, user.getId(), user.getUsername(), user.getEmail(), jwtCookie);
+
+        // The access token is short-lived; the refresh token keeps the session going
+        String refreshToken = refreshTokenService.issue(user.getUsername());
+        response.setRefreshToken(refreshToken);
+        response.setRefreshCookie(jwtUtils.generateRefreshCookie(refreshToken));
+        return response;
+    }
+
+    /**
+     * Rotates the refresh token and mints a fresh access token for the same user.
+     * Roles and the token version are re-read, so revocations and role changes apply here.
+     * Id and email are left out: the client already has them from sign-in, and skipping them keeps
+     * the refresh to the token lookup, the cached user and a single-column version lookup.
+     */
+    public JwtResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(rotation.username());
+        // The cached user may predate a revocation on another node; the version is read fresh
+        int tokenVersion = userRepository.findTokenVersionByUsername(rotation.username()).orElse(0);
+
+        String token = jwtUtils.generateJwtToken(userDetails, tokenVersion);
+        JwtResponse response = new JwtResponse(
+                token, null, userDetails.getUsername(), null, jwtUtils.generateJwtCookie(token));
+        response.setRefreshToken(rotation.refreshToken());
+        response.setRefreshCookie(jwtUtils.generateRefreshCookie(rotation.refreshToken()));
+        return response;
     }
 
 
     // ✅ Register logic
     public ResponseEntity<?> registerUser(SignupRequest signUpRequest) {
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity.badRequest().body("Error: Username is already taken!");
-        }
-
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
+        // One query answers both uniqueness questions
+        for (UserRepository.UserIdentityView clash : userRepository.findIdentityClashes(
+                signUpRequest.getUsername(), signUpRequest.getEmail())) {
+            if (signUpRequest.getUsername().equalsIgnoreCase(clash.getUsername())) {
+                return ResponseEntity.badRequest().body("Error: Username is already taken!");
+            }
             return ResponseEntity.badRequest().body("Error: Email is already in use!");
         }
 
@@ -74,36 +112,16 @@ public class AuthService {
                 signUpRequest.getEmail(),
                 encoder.encode(signUpRequest.getPassword()));
 
-        Set<String> strRoles = signUpRequest.getRoles();
-        Set<Role> roles = new HashSet<>();
-
-        if (strRoles == null) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-            roles.add(userRole);
-        } else {
-            strRoles.forEach(role -> {
-                switch (role) {
-                    case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(adminRole);
-                        break;
-                    case "mod":
-                        Role modRole = roleRepository.findByName(ERole.ROLE_MODERATOR)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(modRole);
-                        break;
-                    default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(userRole);
-                }
-            });
-        }
+        Set<Role> roles = roleCache.resolve(signUpRequest.getRoles());
 
         user.setRoles(roles);
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent signup for the same username or email
+            return ResponseEntity.badRequest().body("Error: Username or email is already in use!");
+        }
+        userDetailsCache.invalidate(user.getUsername());
 
         return ResponseEntity.ok("User registered successfully!");
     }
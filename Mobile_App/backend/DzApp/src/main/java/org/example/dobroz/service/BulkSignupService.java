@@ -0,0 +1,231 @@
+package org.example.dobroz.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.dobroz.dto.ImportReport;
+import org.example.dobroz.dto.SignupRequest;
+import org.example.dobroz.entity.Role;
+import org.example.dobroz.repository.UserRepository;
+import org.example.dobroz.security.services.OffloadingPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * B2B onboarding: registers many users at once with one uniqueness query per chunk and
+ * batched inserts into users and user_roles.
+ */
+@Service
+public class BulkSignupService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkSignupService.class);
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, email, password, token_version) VALUES (?, ?, ?, 0)";
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    PasswordEncoder encoder;
+
+    @Autowired
+    RoleCache roleCache;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Value("${app.bulkSignup.batchSize:200}")
+    private int batchSize;
+
+    public ImportReport registerUsers(List<SignupRequest> requests) {
+        ImportReport report = new ImportReport();
+        // Usernames and emails seen earlier in this upload; MySQL compares them case-insensitively
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int from = 0; from < requests.size(); from += batchSize) {
+            List<PendingUser> chunk = new ArrayList<>();
+            int to = Math.min(requests.size(), from + batchSize);
+
+            for (int i = from; i < to; i++) {
+                SignupRequest request = requests.get(i);
+                report.rowSeen();
+                String error = validate(request);
+                if (error == null && !seenUsernames.add(normalize(request.getUsername()))) {
+                    error = "Username appears more than once in this upload";
+                }
+                if (error == null && !seenEmails.add(normalize(request.getEmail()))) {
+                    error = "Email appears more than once in this upload";
+                }
+                if (error != null) {
+                    report.rejectRow(i + 1, error);
+                    continue;
+                }
+                try {
+                    chunk.add(new PendingUser(i + 1, request, roleCache.resolve(request.getRoles())));
+                } catch (RuntimeException e) {
+                    report.rejectRow(i + 1, e.getMessage());
+                }
+            }
+
+            insertChunk(chunk, report);
+        }
+
+        logger.info("Bulk signup finished: {} rows, {} registered, {} failed",
+                report.getTotalRows(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private void insertChunk(List<PendingUser> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // One query finds every clash with existing accounts for the whole chunk
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        chunk.forEach(p -> {
+            usernames.add(p.request().getUsername());
+            emails.add(p.request().getEmail());
+        });
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserRepository.UserIdentityView clash : userRepository.findIdentityClashes(usernames, emails)) {
+            takenUsernames.add(normalize(clash.getUsername()));
+            takenEmails.add(normalize(clash.getEmail()));
+        }
+
+        List<PendingUser> accepted = new ArrayList<>(chunk.size());
+        for (PendingUser pending : chunk) {
+            if (takenUsernames.contains(normalize(pending.request().getUsername()))) {
+                report.rejectRow(pending.row(), "Username is already taken");
+            } else if (takenEmails.contains(normalize(pending.request().getEmail()))) {
+                report.rejectRow(pending.row(), "Email is already in use");
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // Hash outside the transaction so no connection is held during BCrypt
+        List<String> hashes = hash(accepted);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertUsers(accepted, hashes));
+            report.imported(accepted.size());
+        } catch (DataIntegrityViolationException batchFailure) {
+            // A concurrent signup took a name between the check and the insert; replay the chunk
+            // row by row so only the clashing rows are rejected
+            logger.warn("Bulk signup chunk rejected by a unique constraint, retrying {} rows individually: {}",
+                    accepted.size(), batchFailure.getMostSpecificCause().getMessage());
+            for (int i = 0; i < accepted.size(); i++) {
+                List<PendingUser> user = List.of(accepted.get(i));
+                List<String> hash = List.of(hashes.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertUsers(user, hash));
+                    report.imported(1);
+                } catch (DataIntegrityViolationException e) {
+                    report.rejectRow(accepted.get(i).row(), "Username or email is already in use");
+                }
+            }
+        }
+    }
+
+    private List<String> hash(List<PendingUser> users) {
+        List<String> passwords = users.stream().map(p -> p.request().getPassword()).toList();
+        if (encoder instanceof OffloadingPasswordEncoder pool) {
+            return pool.encodeAll(passwords);
+        }
+        List<String> hashes = new ArrayList<>(passwords.size());
+        for (String password : passwords) {
+            hashes.add(encoder.encode(password));
+        }
+        return hashes;
+    }
+
+    private void insertUsers(List<PendingUser> users, List<String> hashes) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        SignupRequest request = users.get(i).request();
+                        ps.setString(1, request.getUsername());
+                        ps.setString(2, request.getEmail());
+                        ps.setString(3, hashes.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != users.size()) {
+            throw new IllegalStateException("Expected " + users.size() + " generated ids, got " + generated.size());
+        }
+
+        List<long[]> links = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            long userId = ((Number) generated.get(i).values().iterator().next()).longValue();
+            for (Role role : users.get(i).roles()) {
+                links.add(new long[]{userId, role.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, links, links.size(), (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setLong(2, link[1]);
+        });
+    }
+
+    private String validate(SignupRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<SignupRequest> first = violations.iterator().next();
+        return first.getPropertyPath() + " " + first.getMessage();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingUser(long row, SignupRequest request, Set<Role> roles) {
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.dobroz.service;
+
+import org.example.dobroz.entity.ERole;
+import org.example.dobroz.entity.Role;
+import org.example.dobroz.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The seeded Role rows, held in memory so signup never has to look them up.
+ * Seeding runs in the background once the app is up, so it does not delay the first request;
+ * a signup that arrives earlier seeds and loads the roles itself.
+ */
+@Component
+public class RoleCache {
+    private static final Logger logger = LoggerFactory.getLogger(RoleCache.class);
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    private volatile Map<ERole, Role> roles = Map.of();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reloadLock.lock();
+        try {
+            if (roles.isEmpty()) {
+                seedIfMissing();
+                reload();
+            }
+        } catch (RuntimeException e) {
+            // The first signup retries through get()
+            logger.warn("Could not seed roles: {}", e.getMessage());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public void reload() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        roles = loaded;
+    }
+
+    public Role get(ERole name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            // Roles are seeded after startup; only reach the database if that has not happened yet
+            // A lock rather than a monitor: holding a monitor across JDBC pins a virtual thread's carrier
+            reloadLock.lock();
+            try {
+                role = roles.get(name);
+                if (role == null) {
+                    seedIfMissing();
+                    reload();
+                    role = roles.get(name);
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        if (role == null) {
+            throw new RuntimeException("Error: Role is not found.");
+        }
+        return role;
+    }
+
+    private void seedIfMissing() {
+        if (roleRepository.count() == 0) {
+            roleRepository.save(new Role(ERole.ROLE_USER));
+            roleRepository.save(new Role(ERole.ROLE_MODERATOR));
+            roleRepository.save(new Role(ERole.ROLE_ADMIN));
+            logger.info("Roles initialized");
+        }
+    }
+
+    /**
+     * Maps the role names accepted at signup ("admin", "mod", anything else means user) to Role rows.
+     */
+    public Set<Role> resolve(Set<String> requested) {
+        Set<Role> resolved = new HashSet<>();
+        if (requested == null) {
+            resolved.add(get(ERole.ROLE_USER));
+            return resolved;
+        }
+        for (String role : requested) {
+            switch (role) {
+                case "admin":
+                    resolved.add(get(ERole.ROLE_ADMIN));
+                    break;
+                case "mod":
+                    resolved.add(get(ERole.ROLE_MODERATOR));
+                    break;
+                default:
+                    resolved.add(get(ERole.ROLE_USER));
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,316 @@
+package org.example.dobroz.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Derives venue thumbnails on first request and keeps them in a size-bounded on-disk cache.
+ * Files are named after a hash of (source url, size), evicted least-recently-used once the cache outgrows its budget.
+ * Sources are only fetched over https from the configured host allowlist.
+ */
+@Service
+public class ThumbnailService {
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+
+    public enum Size {
+        SMALL(160), MEDIUM(320), LARGE(640);
+
+        private final int width;
+
+        Size(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+    }
+
+    @Value("${app.thumbnails.dir:${java.io.tmpdir}/dobroz-thumbnails}")
+    private String cacheDir;
+
+    @Value("${app.thumbnails.maxBytes:268435456}")
+    private long maxBytes;
+
+    // Files served this recently are never evicted, so a path handed out stays readable until it is sent
+    @Value("${app.thumbnails.evictionGraceMs:30000}")
+    private long evictionGraceMs;
+
+    @Value("${app.thumbnails.allowedHosts:}")
+    private List<String> allowedHosts;
+
+    private Path root;
+    private Set<String> allowedHostSet;
+
+    // Access-ordered so iteration starts at the least recently served file
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    // Concurrent requests for the same thumbnail wait on a single resize
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void loadCache() throws IOException {
+        root = Paths.get(cacheDir);
+        Files.createDirectories(root);
+        allowedHostSet = allowedHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        List<Path> existing;
+        try (Stream<Path> files = Files.list(root)) {
+            existing = files.filter(p -> p.toString().endsWith(".jpg"))
+                    .sorted(Comparator.comparingLong(ThumbnailService::lastModified))
+                    .toList();
+        }
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (Path file : existing) {
+            sizes.put(file.getFileName().toString(), Files.size(file));
+        }
+        List<String> evicted;
+        synchronized (entries) {
+            sizes.forEach((name, size) -> {
+                entries.put(name, new Entry(size, 0L));
+                totalBytes += size;
+            });
+            evicted = evictIfNeeded(System.currentTimeMillis());
+        }
+        delete(evicted);
+        logger.info("Thumbnail cache at {} holds {} files ({} bytes)", root, entries.size(), totalBytes);
+    }
+
+    /**
+     * Short form of {@link #key} for URLs: changes whenever the source image url does.
+     */
+    public String version(String sourceUrl, Size size) {
+        return key(sourceUrl, size).substring(0, 16);
+    }
+
+    public String key(String sourceUrl, Size size) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(sourceUrl.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(size.name().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Whether the url is an https source on the allowlist. Anything else is never fetched.
+     */
+    public boolean isAllowedSource(String sourceUrl) {
+        if (sourceUrl == null) {
+            return false;
+        }
+        URI uri;
+        try {
+            uri = new URI(sourceUrl);
+        } catch (URISyntaxException e) {
+            return false;
+        }
+        return "https".equalsIgnoreCase(uri.getScheme())
+                && uri.getRawUserInfo() == null
+                && (uri.getPort() == -1 || uri.getPort() == 443)
+                && uri.getHost() != null
+                && allowedHostSet.contains(uri.getHost().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the cached thumbnail file, resizing the source image first if needed.
+     * The file is safe from eviction for at least {@code evictionGraceMs} after this returns.
+     */
+    public Path getThumbnail(String sourceUrl, Size size) throws IOException {
+        if (!isAllowedSource(sourceUrl)) {
+            throw new IllegalArgumentException("Thumbnail source is not on the allowlist: " + sourceUrl);
+        }
+        String key = key(sourceUrl, size);
+        String fileName = key + ".jpg";
+        Path file = root.resolve(fileName);
+
+        // The lock only guards the index; the file itself is checked outside it
+        Entry touched = null;
+        synchronized (entries) {
+            Entry entry = entries.get(fileName);
+            if (entry != null) {
+                touched = new Entry(entry.bytes(), System.currentTimeMillis());
+                entries.put(fileName, touched);
+            }
+        }
+        if (touched != null) {
+            if (Files.exists(file)) {
+                return file;
+            }
+            // Removed from disk behind the cache's back; drop the entry unless a render has replaced it
+            synchronized (entries) {
+                if (entries.remove(fileName, touched)) {
+                    totalBytes -= touched.bytes();
+                }
+            }
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> pending = inFlight.putIfAbsent(key, created);
+        if (pending != null) {
+            return await(pending);
+        }
+
+        try {
+            Path result = render(sourceUrl, size, file);
+            created.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private Path render(String sourceUrl, Size size, Path target) throws IOException {
+        BufferedImage source;
+        try (InputStream in = openSource(sourceUrl)) {
+            source = ImageIO.read(in);
+        }
+        if (source == null) {
+            throw new IOException("Unsupported image format: " + sourceUrl);
+        }
+
+        int width = Math.min(size.getWidth(), source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        // Write next to the target and move into place so readers never see a partial file
+        Path tmp = Files.createTempFile(root, "thumb-", ".tmp");
+        try {
+            ImageIO.write(scaled, "jpg", tmp.toFile());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        long bytes = Files.size(target);
+        long now = System.currentTimeMillis();
+        List<String> evicted;
+        synchronized (entries) {
+            Entry previous = entries.put(target.getFileName().toString(), new Entry(bytes, now));
+            totalBytes += bytes - (previous != null ? previous.bytes() : 0L);
+            evicted = evictIfNeeded(now);
+        }
+        delete(evicted);
+        logger.debug("Rendered {} thumbnail for {} ({} bytes)", size, sourceUrl, bytes);
+        return target;
+    }
+
+    private InputStream openSource(String sourceUrl) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(sourceUrl).toURL().openConnection();
+        // A redirect could point anywhere, including back inside the network
+        connection.setInstanceFollowRedirects(false);
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(10000);
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            connection.disconnect();
+            throw new IOException("Thumbnail source returned HTTP " + status + ": " + sourceUrl);
+        }
+        return connection.getInputStream();
+    }
+
+    // Caller must hold the entries lock and pass the result to delete() once it is released. Stops at the
+    // first recently served file, so the cache can run over budget for up to evictionGraceMs rather than
+    // delete a file a response is about to send.
+    private List<String> evictIfNeeded(long now) {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (now - eldest.getValue().lastServed() < evictionGraceMs) {
+                break;
+            }
+            it.remove();
+            totalBytes -= eldest.getValue().bytes();
+            evicted.add(eldest.getKey());
+        }
+        return evicted;
+    }
+
+    // A render of the same key racing this delete loses its file; getThumbnail notices and renders it again
+    private void delete(List<String> evicted) {
+        for (String fileName : evicted) {
+            try {
+                Files.deleteIfExists(root.resolve(fileName));
+            } catch (IOException e) {
+                logger.warn("Could not evict thumbnail {}: {}", fileName, e.getMessage());
+            }
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> pending) throws IOException {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(long bytes, long lastServed) {
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
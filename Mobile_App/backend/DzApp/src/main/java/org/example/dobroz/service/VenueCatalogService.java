@@ -0,0 +1,292 @@
+package org.example.dobroz.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.example.dobroz.entity.Venue;
+import org.example.dobroz.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory venue catalog plus the full list and the home-screen categories as pre-serialized JSON,
+ * each kept both plain and gzip-compressed so responses are never compressed per request.
+ * Boots from the on-disk snapshot when one exists and is reconciled with the database in the background;
+ * the snapshot file is only ever written by that background pass, never on a request thread.
+ */
+@Service
+public class VenueCatalogService {
+    private static final Logger logger = LoggerFactory.getLogger(VenueCatalogService.class);
+
+    public static final String FOOTBALL_TURF = "Football Turf";
+    public static final String CRICKET_TURF = "Cricket Turf";
+    public static final String AUDITORIUM = "Auditorium";
+    public static final String OTHER_EVENT = "Other Event";
+
+    @Autowired
+    VenueRepository venueRepository;
+
+    @Autowired
+    VenueSnapshotStore snapshotStore;
+
+    @Autowired
+    VenuePopularityService popularityService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    // Bumped on every catalog write; cached state is stale when its version lags behind
+    private final AtomicLong catalogVersion = new AtomicLong();
+    // Not synchronized: the reload runs a query, and a monitor held across JDBC pins a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile CatalogState catalog;
+    private volatile CategoryCache categories;
+    private volatile AllVenuesCache allVenues;
+
+    @Value("${app.popularity.featuredLimit:10}")
+    private int featuredLimit;
+
+    @PostConstruct
+    void warmStart() {
+        List<Venue> venues = snapshotStore.load();
+        if (venues != null) {
+            catalog = CatalogState.of(catalogVersion.get(), venues);
+        }
+    }
+
+    public List<Venue> getAllVenues() {
+        return currentCatalog().venues();
+    }
+
+    public Venue getVenue(Long id) {
+        return currentCatalog().byId().get(id);
+    }
+
+    /**
+     * Maps ranked venue ids to venues, skipping ids that are no longer in the catalog.
+     */
+    public List<Venue> resolve(List<Long> ids) {
+        Map<Long, Venue> byId = currentCatalog().byId();
+        List<Venue> venues = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Venue venue = byId.get(id);
+            if (venue != null) {
+                venues.add(venue);
+            }
+        }
+        return venues;
+    }
+
+    public JsonSnapshot getAllVenuesJson() {
+        CatalogState state = currentCatalog();
+        AllVenuesCache cached = allVenues;
+        if (cached != null && cached.source() == state) {
+            return cached.snapshot();
+        }
+
+        lock.lock();
+        try {
+            cached = allVenues;
+            if (cached == null || cached.source() != state) {
+                cached = new AllVenuesCache(state, serialize(state, state.venues()));
+                allVenues = cached;
+            }
+            return cached.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public JsonSnapshot getHomeCategories() {
+        CatalogState state = currentCatalog();
+        long ranking = popularityService.rankingVersion();
+        CategoryCache cached = categories;
+        if (cached != null && cached.source() == state && cached.rankingVersion() == ranking) {
+            return cached.snapshot();
+        }
+
+        lock.lock();
+        try {
+            cached = categories;
+            if (cached == null || cached.source() != state || cached.rankingVersion() != ranking) {
+                cached = new CategoryCache(state, ranking, buildCategories(state));
+                categories = cached;
+            }
+            return cached.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markStale() {
+        catalogVersion.incrementAndGet();
+    }
+
+    // First run right after startup replaces whatever the snapshot held with the database view
+    @Scheduled(initialDelayString = "${app.venueSnapshot.initialReconcileMs:0}",
+            fixedDelayString = "${app.venueSnapshot.reconcileMs:60000}")
+    public void reconcile() {
+        try {
+            long version = catalogVersion.get();
+            List<Venue> venues = List.copyOf(venueRepository.findAll());
+            lock.lock();
+            try {
+                if (catalog == null || catalog.version() <= version) {
+                    catalog = CatalogState.of(version, venues);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (snapshotStore.write(venues)) {
+                logger.info("Venue snapshot refreshed with {} venues", venues.size());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Venue catalog reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    private CatalogState currentCatalog() {
+        CatalogState state = catalog;
+        long version = catalogVersion.get();
+        if (state != null && state.version() == version) {
+            return state;
+        }
+
+        lock.lock();
+        try {
+            state = catalog;
+            version = catalogVersion.get();
+            if (state == null || state.version() != version) {
+                // Only the in-memory catalog is swapped here; the on-disk snapshot catches up in reconcile()
+                state = CatalogState.of(version, venueRepository.findAll());
+                catalog = state;
+            }
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JsonSnapshot buildCategories(CatalogState state) {
+        List<Venue> featured = new ArrayList<>();
+        List<Venue> turfs = new ArrayList<>();
+        List<Venue> auditoriums = new ArrayList<>();
+        List<Venue> others = new ArrayList<>();
+
+        for (Venue venue : state.venues()) {
+            String type = venue.getType();
+            if (FOOTBALL_TURF.equals(type) || CRICKET_TURF.equals(type)) {
+                turfs.add(venue);
+            } else if (AUDITORIUM.equals(type)) {
+                auditoriums.add(venue);
+            } else if (OTHER_EVENT.equals(type)) {
+                others.add(venue);
+            }
+        }
+
+        // Ranked by recent bookings; before any bookings are recorded, fall back to the old type rule
+        for (Long id : popularityService.featuredVenues(featuredLimit)) {
+            Venue venue = state.byId().get(id);
+            if (venue != null) {
+                featured.add(venue);
+            }
+        }
+        if (featured.isEmpty()) {
+            for (Venue venue : state.venues()) {
+                if (FOOTBALL_TURF.equals(venue.getType()) || AUDITORIUM.equals(venue.getType())) {
+                    featured.add(venue);
+                }
+            }
+        }
+
+        // Keys match the fields the mobile useVenues hook exposes
+        Map<String, List<Venue>> buckets = new LinkedHashMap<>();
+        buckets.put("featuredVenues", featured);
+        buckets.put("turfEvents", turfs);
+        buckets.put("auditoriumEvents", auditoriums);
+        buckets.put("otherEvents", others);
+
+        return serialize(state, buckets);
+    }
+
+    private JsonSnapshot serialize(CatalogState state, Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] gzipBody = gzip(body);
+            logger.debug("Serialized venue catalog view (version {}, {} venues, {} bytes, {} gzipped)",
+                    state.version(), state.venues().size(), body.length, gzipBody.length);
+            return new JsonSnapshot(state.version(), body, gzipBody, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize venue catalog", e);
+        }
+    }
+
+    // Built once per catalog version, so the slowest, smallest setting is worth it
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CatalogState(long version, List<Venue> venues, Map<Long, Venue> byId) {
+        static CatalogState of(long version, List<Venue> venues) {
+            Map<Long, Venue> byId = new HashMap<>();
+            for (Venue venue : venues) {
+                byId.put(venue.getId(), venue);
+            }
+            return new CatalogState(version, List.copyOf(venues), byId);
+        }
+    }
+
+    // Categories are tied to the exact catalog object and ranking they were built from
+    private record CategoryCache(CatalogState source, long rankingVersion, JsonSnapshot snapshot) {
+    }
+
+    private record AllVenuesCache(CatalogState source, JsonSnapshot snapshot) {
+    }
+
+    public record JsonSnapshot(long version, byte[] body, byte[] gzipBody, String etag) {
+        // Each encoding is a different representation and needs its own strong validator
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+}
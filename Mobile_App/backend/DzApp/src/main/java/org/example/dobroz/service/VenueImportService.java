@@ -0,0 +1,284 @@
+package org.example.dobroz.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dobroz.dto.ImportReport;
+import org.example.dobroz.entity.Venue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a CSV or NDJSON venue upload into the database in fixed-size JDBC batches.
+ * Only one chunk of rows is held in memory at a time, whatever the size of the upload.
+ */
+@Service
+public class VenueImportService {
+    private static final Logger logger = LoggerFactory.getLogger(VenueImportService.class);
+
+    private static final String INSERT_VENUE =
+            "INSERT INTO venues (name, location, capacity, price, type, image_url) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String[] CSV_COLUMNS = {"name", "location", "capacity", "price", "type", "imageUrl"};
+
+    public enum Format { CSV, NDJSON }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    VenueCatalogService venueCatalogService;
+
+    @Value("${app.import.batchSize:500}")
+    private int batchSize;
+
+    public ImportReport importVenues(InputStream body, Format format) throws IOException {
+        ImportReport report = new ImportReport();
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            int[] columnIndex = null;
+            long lineNo = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (format == Format.CSV && columnIndex == null) {
+                    columnIndex = parseHeader(line);
+                    continue;
+                }
+
+                report.rowSeen();
+                try {
+                    Venue venue = format == Format.CSV ? fromCsv(line, columnIndex) : fromJson(line);
+                    validate(venue);
+                    chunk.add(new PendingRow(lineNo, venue));
+                } catch (IllegalArgumentException e) {
+                    report.rejectRow(lineNo, e.getMessage());
+                }
+
+                if (chunk.size() >= batchSize) {
+                    flush(chunk, report);
+                }
+            }
+        }
+        flush(chunk, report);
+
+        if (report.getImported() > 0) {
+            venueCatalogService.markStale();
+        }
+        logger.info("Venue import finished: {} rows, {} imported, {} failed",
+                report.getTotalRows(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private void flush(List<PendingRow> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            // With rewriteBatchedStatements the driver sends the chunk as one multi-row INSERT; the
+            // transaction makes a failed chunk roll back whole, so the replay below cannot duplicate rows
+            transactionTemplate.executeWithoutResult(status -> insertVenues(chunk));
+            report.imported(chunk.size());
+        } catch (DataAccessException batchFailure) {
+            // Replay the chunk row by row so the failure lands on the right line
+            logger.warn("Batch insert failed, retrying {} rows individually: {}", chunk.size(), batchFailure.getMessage());
+            for (PendingRow row : chunk) {
+                try {
+                    insertVenues(List.of(row));
+                    report.imported(1);
+                } catch (DataAccessException e) {
+                    report.rejectRow(row.line(), "Database error: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private void insertVenues(List<PendingRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_VENUE, rows, rows.size(), (ps, row) -> {
+            Venue v = row.venue();
+            ps.setString(1, v.getName());
+            ps.setString(2, v.getLocation());
+            ps.setInt(3, v.getCapacity());
+            ps.setDouble(4, v.getPrice());
+            ps.setString(5, v.getType());
+            ps.setString(6, v.getImageUrl());
+        });
+    }
+
+    private int[] parseHeader(String line) {
+        List<String> header = splitCsv(line);
+        int[] index = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            index[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (CSV_COLUMNS[i].equalsIgnoreCase(header.get(j).trim())) {
+                    index[i] = j;
+                    break;
+                }
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            if (index[i] < 0) {
+                throw new IllegalArgumentException("CSV header is missing column: " + CSV_COLUMNS[i]);
+            }
+        }
+        return index;
+    }
+
+    private Venue fromCsv(String line, int[] index) {
+        List<String> fields = splitCsv(line);
+        Venue venue = new Venue();
+        venue.setName(field(fields, index[0]));
+        venue.setLocation(field(fields, index[1]));
+        venue.setCapacity(parseInt(field(fields, index[2]), "capacity"));
+        venue.setPrice(parseDouble(field(fields, index[3]), "price"));
+        venue.setType(field(fields, index[4]));
+        venue.setImageUrl(field(fields, index[5]));
+        return venue;
+    }
+
+    private Venue fromJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        Venue venue = new Venue();
+        venue.setName(text(node, "name"));
+        venue.setLocation(text(node, "location"));
+        venue.setCapacity(parseInt(text(node, "capacity"), "capacity"));
+        venue.setPrice(parseDouble(text(node, "price"), "price"));
+        venue.setType(text(node, "type"));
+        venue.setImageUrl(text(node, "imageUrl"));
+        return venue;
+    }
+
+    private void validate(Venue venue) {
+        requireText(venue.getName(), "name");
+        requireText(venue.getLocation(), "location");
+        requireText(venue.getType(), "type");
+        if (venue.getImageUrl() != null && venue.getImageUrl().length() > 255) {
+            throw new IllegalArgumentException("imageUrl is longer than 255 characters");
+        }
+        if (venue.getCapacity() < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        if (venue.getPrice() < 0 || Double.isNaN(venue.getPrice()) || Double.isInfinite(venue.getPrice())) {
+            throw new IllegalArgumentException("price must be a non-negative number");
+        }
+    }
+
+    private static void requireText(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        if (value.length() > 255) {
+            throw new IllegalArgumentException(name + " is longer than 255 characters");
+        }
+    }
+
+    private static int parseInt(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a whole number: " + value);
+        }
+    }
+
+    private static double parseDouble(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 style: commas inside double quotes, "" as an escaped quote
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record PendingRow(long line, Venue venue) {
+    }
+}
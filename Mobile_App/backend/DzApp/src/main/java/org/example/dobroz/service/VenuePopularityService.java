@@ -0,0 +1,378 @@
+package org.example.dobroz.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dobroz.entity.Booking;
+import org.example.dobroz.entity.Venue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Ranks venues by recent booking volume with exponentially decaying counters.
+ *
+ * Counters use forward decay: a booking at time t adds 2^((t - epoch) / halfLife), so a venue that
+ * is not booked keeps its score and the relative order never has to be recomputed as time passes.
+ * Each venue type keeps its own top-K heap, updated as counters change, so reads never scan bookings.
+ *
+ * Counters and rankings live in this JVM and count the bookings this node served, so with several
+ * instances each one ranks its own share of the traffic and their featured lists may differ.
+ */
+@Service
+public class VenuePopularityService {
+    private static final Logger logger = LoggerFactory.getLogger(VenuePopularityService.class);
+
+    private static final int SNAPSHOT_FORMAT = 1;
+    // Rebase well before 2^exponent gets anywhere near double overflow
+    private static final double MAX_EXPONENT = 64;
+
+    @Value("${app.popularity.halfLifeHours:72}")
+    private double halfLifeHours;
+
+    @Value("${app.popularity.topK:10}")
+    private int topK;
+
+    @Value("${app.popularity.featuredLimit:10}")
+    private int featuredLimit;
+
+    @Value("${app.popularity.file:${java.io.tmpdir}/dobroz-popularity.snapshot}")
+    private String snapshotFile;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, TopK> rankings = new ConcurrentHashMap<>();
+    private final AtomicLong rankingVersion = new AtomicLong();
+
+    // Updates share the read lock; rebasing all counters to a new epoch takes the write lock
+    private final ReadWriteLock epochLock = new ReentrantReadWriteLock();
+    private volatile long epochMillis = System.currentTimeMillis();
+
+    @PostConstruct
+    void restore() {
+        Path path = Paths.get(snapshotFile);
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_FORMAT) {
+                logger.warn("Ignoring popularity snapshot {}: unknown format", path);
+                return;
+            }
+            long savedEpoch = in.readLong();
+            double savedHalfLifeMs = in.readDouble();
+            int count = in.readInt();
+
+            // Convert every score to its present-day weight so a changed half-life still loads sensibly
+            double toNow = Math.pow(2, -(now - savedEpoch) / savedHalfLifeMs);
+            for (int i = 0; i < count; i++) {
+                long venueId = in.readLong();
+                String type = in.readUTF();
+                double score = in.readDouble() * toNow;
+                counters.put(venueId, new Counter(venueId, type, score));
+            }
+            epochMillis = now;
+            counters.values().forEach(c -> ranking(c.type).offer(c.venueId, c.score));
+            rankingVersion.incrementAndGet();
+            logger.info("Restored popularity counters for {} venues", count);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable popularity snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    public void recordBooking(Booking booking) {
+        Venue venue = booking.getVenue();
+        if (venue == null || venue.getId() == null || venue.getType() == null || booking.getCreatedAt() == null) {
+            return;
+        }
+        update(venue.getId(), venue.getType(), booking.getCreatedAt().toEpochMilli(), 1);
+    }
+
+    /**
+     * Takes back the weight the booking added when it was made, not today's larger weight.
+     * Bookings without a creation time predate the counters and are ignored.
+     */
+    public void recordCancellation(Booking booking) {
+        // getId() on the lazy venue proxy does not hit the database
+        Long venueId = booking.getVenue() == null ? null : booking.getVenue().getId();
+        Counter counter = venueId == null ? null : counters.get(venueId);
+        if (counter == null || booking.getCreatedAt() == null) {
+            return;
+        }
+        update(venueId, counter.type, booking.getCreatedAt().toEpochMilli(), -1);
+    }
+
+    /**
+     * Top venue ids for one type, most popular first. Costs O(K).
+     */
+    public List<Long> topVenues(String type) {
+        TopK ranking = rankings.get(type);
+        return ranking == null ? List.of() : ranking.ranked();
+    }
+
+    /**
+     * Top venue ids across all types, merged from the per-type rankings. The limit is capped at featuredLimit.
+     */
+    public List<Long> featuredVenues(int limit) {
+        limit = Math.max(0, Math.min(limit, featuredLimit));
+        List<Scored> merged = new ArrayList<>();
+        for (TopK ranking : rankings.values()) {
+            merged.addAll(ranking.rankedScores());
+        }
+        merged.sort(Scored.BY_SCORE_DESC);
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, merged.size()));
+        for (int i = 0; i < merged.size() && i < limit; i++) {
+            ids.add(merged.get(i).venueId());
+        }
+        return ids;
+    }
+
+    /**
+     * Changes whenever any top-K list changes; lets callers cache what they derive from the ranking.
+     */
+    public long rankingVersion() {
+        return rankingVersion.get();
+    }
+
+    // The weight is that of an event at atMillis, relative to the current epoch
+    private void update(Long venueId, String type, long atMillis, int direction) {
+        epochLock.readLock().lock();
+        double score;
+        double exponent;
+        try {
+            exponent = (System.currentTimeMillis() - epochMillis) / halfLifeMillis();
+            double weight = Math.pow(2, (atMillis - epochMillis) / halfLifeMillis());
+            Counter counter = counters.computeIfAbsent(venueId, id -> new Counter(id, type, 0));
+            TopK ranking = ranking(counter.type);
+            boolean changed;
+            // Counters of a type only change under its ranking's lock, so two updates to one venue cannot
+            // reach the heap in the opposite order to the one they were applied to the counter in
+            synchronized (ranking) {
+                score = counter.add(direction * weight);
+                changed = direction > 0
+                        ? ranking.offer(venueId, score)
+                        : ranking.lower(venueId, score, () -> scoresOfType(counter.type));
+            }
+            if (changed) {
+                rankingVersion.incrementAndGet();
+            }
+        } finally {
+            epochLock.readLock().unlock();
+        }
+
+        if (exponent > MAX_EXPONENT) {
+            rebase();
+        }
+    }
+
+    private void rebase() {
+        epochLock.writeLock().lock();
+        try {
+            long now = System.currentTimeMillis();
+            double factor = Math.pow(2, -(now - epochMillis) / halfLifeMillis());
+            if (factor >= 1) {
+                return;
+            }
+            counters.values().forEach(c -> c.scale(factor));
+            rankings.values().forEach(r -> r.scale(factor));
+            epochMillis = now;
+            logger.debug("Rebased popularity counters to a new epoch");
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.popularity.snapshotMs:300000}",
+            initialDelayString = "${app.popularity.snapshotMs:300000}")
+    @PreDestroy
+    public void snapshot() {
+        Path path = Paths.get(snapshotFile);
+        epochLock.readLock().lock();
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "popularity-", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    List<Counter> live = new ArrayList<>(counters.values());
+                    out.writeInt(SNAPSHOT_FORMAT);
+                    out.writeLong(epochMillis);
+                    out.writeDouble(halfLifeMillis());
+                    out.writeInt(live.size());
+                    for (Counter counter : live) {
+                        out.writeLong(counter.venueId);
+                        out.writeUTF(counter.type);
+                        out.writeDouble(counter.score());
+                    }
+                }
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write popularity snapshot {}: {}", path, e.getMessage());
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    private double halfLifeMillis() {
+        return halfLifeHours * 3_600_000d;
+    }
+
+    private TopK ranking(String type) {
+        return rankings.computeIfAbsent(type, t -> new TopK(topK));
+    }
+
+    private List<Scored> scoresOfType(String type) {
+        List<Scored> scores = new ArrayList<>();
+        for (Counter counter : counters.values()) {
+            if (counter.type.equals(type)) {
+                scores.add(new Scored(counter.venueId, counter.score()));
+            }
+        }
+        return scores;
+    }
+
+    private static final class Counter {
+        final long venueId;
+        final String type;
+        private double score;
+
+        Counter(long venueId, String type, double score) {
+            this.venueId = venueId;
+            this.type = type;
+            this.score = score;
+        }
+
+        synchronized double add(double delta) {
+            score = Math.max(0, score + delta);
+            return score;
+        }
+
+        synchronized void scale(double factor) {
+            score *= factor;
+        }
+
+        synchronized double score() {
+            return score;
+        }
+    }
+
+    private record Scored(long venueId, double score) {
+        static final Comparator<Scored> BY_SCORE_DESC = Comparator.comparingDouble(Scored::score).reversed();
+        static final Comparator<Scored> BY_SCORE_ASC = Comparator.comparingDouble(Scored::score);
+    }
+
+    /**
+     * Min-heap of the K best venues of one type, with a pre-sorted copy for readers.
+     */
+    private static final class TopK {
+        private final int k;
+        private final PriorityQueue<Scored> heap;
+        private final Set<Long> members = new HashSet<>();
+        private volatile List<Scored> ranked = List.of();
+
+        TopK(int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(k + 1, Scored.BY_SCORE_ASC);
+        }
+
+        // Score went up: it either moves within the heap or displaces the current minimum
+        synchronized boolean offer(long venueId, double score) {
+            if (members.contains(venueId)) {
+                heap.removeIf(s -> s.venueId() == venueId);
+            } else if (heap.size() >= k) {
+                if (score <= heap.peek().score()) {
+                    return false;
+                }
+                members.remove(heap.poll().venueId());
+            }
+            heap.add(new Scored(venueId, score));
+            members.add(venueId);
+            publish();
+            return true;
+        }
+
+        // Score went down: an outsider may now beat it, so the type is re-ranked from its counters
+        synchronized boolean lower(long venueId, double score, Supplier<List<Scored>> allScores) {
+            if (!members.contains(venueId)) {
+                return false;
+            }
+            heap.removeIf(s -> s.venueId() == venueId);
+            heap.add(new Scored(venueId, score));
+            if (heap.size() >= k) {
+                rebuild(allScores.get());
+            } else {
+                // Fewer than K venues of this type have counters, so there is no outsider to promote
+                publish();
+            }
+            return true;
+        }
+
+        synchronized void rebuild(List<Scored> scores) {
+            heap.clear();
+            members.clear();
+            for (Scored s : scores) {
+                if (heap.size() < k) {
+                    heap.add(s);
+                } else if (s.score() > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(s);
+                }
+            }
+            heap.forEach(s -> members.add(s.venueId()));
+            publish();
+        }
+
+        synchronized void scale(double factor) {
+            List<Scored> scaled = new ArrayList<>(heap.size());
+            heap.forEach(s -> scaled.add(new Scored(s.venueId(), s.score() * factor)));
+            heap.clear();
+            heap.addAll(scaled);
+            publish();
+        }
+
+        List<Long> ranked() {
+            List<Scored> current = ranked;
+            List<Long> ids = new ArrayList<>(current.size());
+            current.forEach(s -> ids.add(s.venueId()));
+            return ids;
+        }
+
+        List<Scored> rankedScores() {
+            return ranked;
+        }
+
+        private void publish() {
+            List<Scored> sorted = new ArrayList<>(heap);
+            sorted.sort(Scored.BY_SCORE_DESC);
+            ranked = List.copyOf(sorted);
+        }
+    }
+}
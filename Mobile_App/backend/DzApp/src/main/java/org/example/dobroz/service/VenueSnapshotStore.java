@@ -0,0 +1,185 @@
+package org.example.dobroz.service;
+
+import org.example.dobroz.entity.Venue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary copy of the venue catalog on local disk, read back through a memory mapping at startup.
+ *
+ * Layout: magic, format version, written-at millis, venue count, CRC32 of the records, then per venue
+ * id, capacity, price and length-prefixed UTF-8 name, location, type, imageUrl (-1 length for null).
+ */
+@Component
+public class VenueSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(VenueSnapshotStore.class);
+
+    private static final int MAGIC = 0x445A5643; // "DZVC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 8;
+
+    @Value("${app.venueSnapshot.file:${java.io.tmpdir}/dobroz-venues.snapshot}")
+    private String snapshotFile;
+
+    private volatile long lastWrittenChecksum = -1;
+
+    /**
+     * Returns the venues from the last snapshot, or null if there is no usable snapshot.
+     */
+    public List<Venue> load() {
+        Path path = Paths.get(snapshotFile);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                logger.warn("Ignoring venue snapshot {}: not a snapshot file", path);
+                return null;
+            }
+            int format = buffer.getInt();
+            if (format != FORMAT_VERSION) {
+                logger.warn("Ignoring venue snapshot {}: format {} (expected {})", path, format, FORMAT_VERSION);
+                return null;
+            }
+            long writtenAt = buffer.getLong();
+            int count = buffer.getInt();
+            long checksum = buffer.getLong();
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != checksum) {
+                logger.warn("Ignoring venue snapshot {}: checksum mismatch", path);
+                return null;
+            }
+
+            List<Venue> venues = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Venue venue = new Venue();
+                venue.setId(buffer.getLong());
+                venue.setCapacity(buffer.getInt());
+                venue.setPrice(buffer.getDouble());
+                venue.setName(readString(buffer));
+                venue.setLocation(readString(buffer));
+                venue.setType(readString(buffer));
+                venue.setImageUrl(readString(buffer));
+                venues.add(venue);
+            }
+
+            lastWrittenChecksum = checksum;
+            logger.info("Loaded {} venues from snapshot written at {}", count, Instant.ofEpochMilli(writtenAt));
+            return venues;
+        } catch (IOException | BufferUnderflowException e) {
+            logger.warn("Ignoring unreadable venue snapshot {}: {}", path, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the catalog if it differs from what is already on disk. Returns true when a new file was written.
+     */
+    public boolean write(List<Venue> venues) {
+        ByteBuffer records = encode(venues);
+        CRC32 crc = new CRC32();
+        crc.update(records.duplicate());
+        long checksum = crc.getValue();
+        if (checksum == lastWrittenChecksum) {
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(System.currentTimeMillis())
+                .putInt(venues.size()).putLong(checksum).flip();
+
+        Path path = Paths.get(snapshotFile);
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "venues-", ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    ByteBuffer[] parts = {header, records};
+                    while (records.hasRemaining() || header.hasRemaining()) {
+                        channel.write(parts);
+                    }
+                    channel.force(false);
+                }
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            lastWrittenChecksum = checksum;
+            logger.debug("Wrote venue snapshot with {} venues to {}", venues.size(), path);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Could not write venue snapshot {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private static ByteBuffer encode(List<Venue> venues) {
+        List<byte[][]> strings = new ArrayList<>(venues.size());
+        int size = 0;
+        for (Venue venue : venues) {
+            byte[][] fields = {
+                    bytes(venue.getName()), bytes(venue.getLocation()),
+                    bytes(venue.getType()), bytes(venue.getImageUrl())
+            };
+            strings.add(fields);
+            size += 8 + 4 + 8;
+            for (byte[] field : fields) {
+                size += 4 + (field == null ? 0 : field.length);
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (int i = 0; i < venues.size(); i++) {
+            Venue venue = venues.get(i);
+            buffer.putLong(venue.getId() == null ? 0L : venue.getId());
+            buffer.putInt(venue.getCapacity());
+            buffer.putDouble(venue.getPrice());
+            for (byte[] field : strings.get(i)) {
+                if (field == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(field.length).put(field);
+                }
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+-- Schema exactly as Hibernate's ddl-auto=update created it before migrations were introduced, constraint
+-- names included. Existing databases are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and only pick up the migrations after it, so nothing added since belongs here.
+
+CREATE TABLE roles (
+    id   INTEGER NOT NULL AUTO_INCREMENT,
+    name ENUM ('ROLE_USER', 'ROLE_MODERATOR', 'ROLE_ADMIN'),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(20),
+    email    VARCHAR(50),
+    password VARCHAR(120),
+    PRIMARY KEY (id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT  NOT NULL,
+    role_id INTEGER NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT FKh8ciramu9cc9q3qcqiv4ue8a6 FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE venues (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    name      VARCHAR(255) NOT NULL,
+    location  VARCHAR(255) NOT NULL,
+    capacity  INTEGER      NOT NULL,
+    price     FLOAT(53)    NOT NULL,
+    type      VARCHAR(255) NOT NULL,
+    image_url VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE booking (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    venue_id   BIGINT       NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    start_time DATETIME(6)  NOT NULL,
+    end_time   DATETIME(6)  NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    venue_name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT FK2s87qnjgbbn5qdvr9snotsfkx FOREIGN KEY (venue_id) REFERENCES venues (id)
+);
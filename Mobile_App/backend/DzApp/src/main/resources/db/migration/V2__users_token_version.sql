@@ -0,0 +1,2 @@
+-- Embedded in issued JWTs; bumping a user's version invalidates every token issued to them before
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
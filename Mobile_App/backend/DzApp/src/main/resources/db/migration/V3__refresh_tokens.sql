@@ -0,0 +1,14 @@
+-- Opaque refresh tokens, stored only as their SHA-256
+CREATE TABLE refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64) NOT NULL,
+    username   VARCHAR(20) NOT NULL,
+    family_id  VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used_at    DATETIME(6),
+    revoked    BOOLEAN     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT ux_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+CREATE INDEX ix_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX ix_refresh_tokens_expires_at ON refresh_tokens (expires_at);
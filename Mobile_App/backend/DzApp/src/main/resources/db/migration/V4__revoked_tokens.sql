@@ -0,0 +1,9 @@
+-- Signed-out access tokens; other nodes poll the table by id
+CREATE TABLE revoked_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    jti        VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT ux_revoked_tokens_jti UNIQUE (jti)
+);
+CREATE INDEX ix_revoked_tokens_expires_at ON revoked_tokens (expires_at);
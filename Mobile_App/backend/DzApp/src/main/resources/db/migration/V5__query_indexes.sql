@@ -0,0 +1,28 @@
+-- One index per repository lookup; IndexUsageCheck in the load test module runs EXPLAIN on each of them.
+
+-- UserRepository lookups by username and email. The unique keys carry Hibernate's generated names from
+-- ddl-auto; re-create them under readable ones (H2 would reuse the old index if the new key came first)
+ALTER TABLE users DROP INDEX UKr43af9ap4edm43mmtq01oddj6;
+ALTER TABLE users ADD CONSTRAINT ux_users_username UNIQUE (username);
+ALTER TABLE users DROP INDEX UK6dotkott2kjsp8vw4d0m25fb7;
+ALTER TABLE users ADD CONSTRAINT ux_users_email UNIQUE (email);
+
+-- BookingRepository.findByUserEmail; a user's bookings come back in start order
+CREATE INDEX ix_booking_user_email ON booking (user_email, start_time);
+-- A venue's schedule; also serves the venue_id foreign key
+CREATE INDEX ix_booking_venue_start ON booking (venue_id, start_time);
+
+-- Category listings by venue type
+CREATE INDEX ix_venues_type ON venues (type);
+
+-- RoleRepository.findByName
+CREATE UNIQUE INDEX ux_roles_name ON roles (name);
+
+-- user_roles is keyed (user_id, role_id); lookups by role need their own index
+CREATE INDEX ix_user_roles_role ON user_roles (role_id);
+
+-- UserRepository.findRevokedTokenVersions: only revoked users carry a version above zero
+CREATE INDEX ix_users_token_version ON users (token_version);
+
+-- RefreshTokenRepository.revokeAllForUser
+CREATE INDEX ix_refresh_tokens_username ON refresh_tokens (username);
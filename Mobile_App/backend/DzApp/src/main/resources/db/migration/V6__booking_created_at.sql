@@ -0,0 +1,3 @@
+-- When the booking was made; a cancellation takes back exactly the popularity weight the booking added.
+-- Rows from before this column stay NULL and are left out of the popularity counters when cancelled.
+ALTER TABLE booking ADD COLUMN created_at DATETIME(6) NULL;
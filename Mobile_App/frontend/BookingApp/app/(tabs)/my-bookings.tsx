@@ -13,6 +13,7 @@ import { useTheme } from "../contexts/ThemeContext";
 import Animated, { FadeInDown } from "react-native-reanimated";
 import { Button } from "@react-navigation/elements";
 import AsyncStorage from '@react-native-async-storage/async-storage';
+import { useAuth } from "../contexts/AuthContext";
 
 const makeStyles = (isDark: boolean) =>
   StyleSheet.create({
@@ -85,6 +86,7 @@ interface Booking {
 export default function MyBookings() {
   const { isDark } = useTheme() || { isDark: false };
   const styles = makeStyles(isDark);
+  const { authFetch } = useAuth();
   const [bookings, setBookings] = useState<Booking[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
@@ -102,7 +104,7 @@ export default function MyBookings() {
           throw new Error("User email not found");
         }
 
-        const response = await fetch(`http://localhost:8080/api/bookings/user?email=${user.email}`);
+        const response = await authFetch(`http://localhost:8080/api/bookings/user?email=${encodeURIComponent(user.email)}`);
         if (!response.ok) {
           throw new Error("Failed to fetch bookings");
         }
@@ -131,7 +133,7 @@ export default function MyBookings() {
       setLoading(true);
       setError(null);
 
-      const response = await fetch(`http://localhost:8080/api/bookings/${bookingId}/cancel`, {
+      const response = await authFetch(`http://localhost:8080/api/bookings/${bookingId}/cancel`, {
         method: "PATCH",
         headers: {
           "Content-Type": "application/json",
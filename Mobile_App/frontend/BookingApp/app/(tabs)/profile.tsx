@@ -67,7 +67,7 @@ interface User {
 export default function Profile() {
   const { isDark, toggleTheme } = useTheme() || { isDark: false, toggleTheme: () => {} };
   const styles = useMemo(() => makeStyles(isDark), [isDark]);
-  const { user, isLoggedIn, logout } = useAuth();
+  const { user, isLoggedIn, logout, authFetch } = useAuth();
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
@@ -75,11 +75,10 @@ export default function Profile() {
     const fetchUserDetails = async () => {
       try {
         setLoading(true);
-        const response = await fetch("http://localhost:8080/api/auth/me", {
+        const response = await authFetch("http://localhost:8080/api/auth/me", {
           method: "GET",
           headers: {
             "Content-Type": "application/json",
-            // Add authentication headers if needed, e.g., Authorization: `Bearer ${token}`
           },
         });
         if (!response.ok) {
@@ -103,7 +102,14 @@ export default function Profile() {
       "Are you sure you want to logout?",
       [
         { text: "Cancel", style: "cancel" },
-        { text: "Logout", onPress: () => router.push("/auth/Login"), style: "destructive" },
+        {
+          text: "Logout",
+          onPress: async () => {
+            await logout();
+            router.replace("/auth/Login");
+          },
+          style: "destructive",
+        },
       ],
       { cancelable: true }
     );
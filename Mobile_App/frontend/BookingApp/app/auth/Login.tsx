@@ -41,7 +41,7 @@ const Login: React.FC = () => {
       if (!data.accessToken) throw new Error('No token received');
 
       // ✅ Save token & user info to context
-      await login(data.accessToken, {
+      await login(data.accessToken, data.refreshToken ?? null, {
         id: data.id,
         username: data.username,
         email: data.email,
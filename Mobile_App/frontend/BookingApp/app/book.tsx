@@ -80,7 +80,7 @@ export default function Book() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [bookingStatus, setBookingStatus] = useState<string | null>(null);
-  const { user, isLoggedIn, logout } = useAuth()
+  const { user, isLoggedIn, logout, authFetch } = useAuth()
 
   useEffect(() => {
     const fetchVenue = async () => {
@@ -110,7 +110,7 @@ const handleBook = async () => {
     setError(null);
     setBookingStatus(null);
 
-    const response = await fetch("http://localhost:8080/api/bookings", {
+    const response = await authFetch("http://localhost:8080/api/bookings", {
       method: "POST",
       headers: { "Content-Type": "application/json" },
       body: JSON.stringify({
@@ -2,11 +2,14 @@ import React, {
   createContext,
   useContext,
   useEffect,
+  useRef,
   useState,
   ReactNode,
 } from "react";
 import AsyncStorage from "@react-native-async-storage/async-storage";
 
+const API_URL = "http://localhost:8080";
+
 // Define user shape
 interface User {
   id: number;
@@ -19,8 +22,10 @@ interface AuthContextType {
   isLoggedIn: boolean;
   token: string | null;
   user: User | null;
-  login: (token: string, userData: User) => Promise<void>;
+  login: (token: string, refreshToken: string | null, userData: User) => Promise<void>;
   logout: () => Promise<void>;
+  // fetch with the access token; on a 401 the session is refreshed once and the request retried
+  authFetch: (url: string, init?: RequestInit) => Promise<Response>;
 }
 
 // Create context
@@ -32,14 +37,23 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
   const [user, setUser] = useState<User | null>(null);
   const [loading, setLoading] = useState(true);
 
+  // Read by authFetch, which may run before a re-render picks up new state
+  const tokenRef = useRef<string | null>(null);
+  const refreshTokenRef = useRef<string | null>(null);
+  // Refresh tokens are single-use: concurrent 401s must share one refresh call
+  const refreshing = useRef<Promise<string | null> | null>(null);
+
   // Load from AsyncStorage on mount
   useEffect(() => {
     const loadStoredAuth = async () => {
       try {
         const storedToken = await AsyncStorage.getItem("authToken");
+        const storedRefreshToken = await AsyncStorage.getItem("refreshToken");
         const storedUser = await AsyncStorage.getItem("authUser");
 
         if (storedToken) setToken(storedToken);
+        tokenRef.current = storedToken;
+        refreshTokenRef.current = storedRefreshToken;
         if (storedUser) setUser(JSON.parse(storedUser));
       } catch (err) {
         console.error("Failed to load auth info:", err);
@@ -50,11 +64,22 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     loadStoredAuth();
   }, []);
 
-  // Save token + user on login
-  const login = async (newToken: string, userData: User) => {
+  const storeTokens = async (newToken: string, newRefreshToken: string | null) => {
+    tokenRef.current = newToken;
+    refreshTokenRef.current = newRefreshToken;
     setToken(newToken);
-    setUser(userData);
     await AsyncStorage.setItem("authToken", newToken);
+    if (newRefreshToken) {
+      await AsyncStorage.setItem("refreshToken", newRefreshToken);
+    } else {
+      await AsyncStorage.removeItem("refreshToken");
+    }
+  };
+
+  // Save token + user on login
+  const login = async (newToken: string, newRefreshToken: string | null, userData: User) => {
+    await storeTokens(newToken, newRefreshToken);
+    setUser(userData);
     await AsyncStorage.setItem("authUser", JSON.stringify(userData));
     await AsyncStorage.setItem("user", JSON.stringify({
   id: userData.id,
@@ -66,10 +91,69 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
 
   // Remove token + user on logout
   const logout = async () => {
+    const accessToken = tokenRef.current;
+    const refreshToken = refreshTokenRef.current;
+    tokenRef.current = null;
+    refreshTokenRef.current = null;
     setToken(null);
     setUser(null);
     await AsyncStorage.removeItem("authToken");
+    await AsyncStorage.removeItem("refreshToken");
     await AsyncStorage.removeItem("authUser");
+    if (refreshToken) {
+      // Revoke the session on the server too; being logged out locally does not depend on it
+      const headers: Record<string, string> = { "Content-Type": "application/json" };
+      if (accessToken) headers.Authorization = `Bearer ${accessToken}`;
+      fetch(`${API_URL}/api/auth/signout`, {
+        method: "POST",
+        headers,
+        body: JSON.stringify({ refreshToken }),
+      }).catch(() => {});
+    }
+  };
+
+  // Returns the new access token, or null when the session is gone and the user has to log in again
+  const refresh = async (): Promise<string | null> => {
+    const refreshToken = refreshTokenRef.current;
+    if (!refreshToken) return null;
+    try {
+      const response = await fetch(`${API_URL}/api/auth/refresh`, {
+        method: "POST",
+        headers: { "Content-Type": "application/json" },
+        body: JSON.stringify({ refreshToken }),
+      });
+      if (!response.ok) {
+        await logout();
+        return null;
+      }
+      const data = await response.json();
+      await storeTokens(data.accessToken, data.refreshToken ?? null);
+      return data.accessToken;
+    } catch (err) {
+      // Offline: keep the session and let the caller see the failed request
+      console.error("Failed to refresh session:", err);
+      return null;
+    }
+  };
+
+  const authFetch = async (url: string, init: RequestInit = {}): Promise<Response> => {
+    const send = (accessToken: string | null) => {
+      const headers = new Headers(init.headers);
+      if (accessToken) headers.set("Authorization", `Bearer ${accessToken}`);
+      return fetch(url, { ...init, headers });
+    };
+
+    const response = await send(tokenRef.current);
+    if (response.status !== 401 || !refreshTokenRef.current) {
+      return response;
+    }
+    if (!refreshing.current) {
+      refreshing.current = refresh().finally(() => {
+        refreshing.current = null;
+      });
+    }
+    const newToken = await refreshing.current;
+    return newToken ? send(newToken) : response;
   };
 
   const value: AuthContextType = {
@@ -78,6 +162,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     user,
     login,
     logout,
+    authFetch,
   };
 
   if (loading) return null; // or splash screen
@@ -9,17 +9,27 @@ interface Venue {
   type: string;
 }
 
-interface UseVenuesResult {
+interface VenueCategories {
   featuredVenues: Venue[];
   turfEvents: Venue[];
   auditoriumEvents: Venue[];
   otherEvents: Venue[];
+}
+
+interface UseVenuesResult extends VenueCategories {
   loading: boolean;
   error: string | null;
 }
 
+const EMPTY_CATEGORIES: VenueCategories = {
+  featuredVenues: [],
+  turfEvents: [],
+  auditoriumEvents: [],
+  otherEvents: [],
+};
+
 export const useVenues = (): UseVenuesResult => {
-  const [venues, setVenues] = useState<Venue[]>([]);
+  const [categories, setCategories] = useState<VenueCategories>(EMPTY_CATEGORIES);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
@@ -28,12 +38,13 @@ export const useVenues = (): UseVenuesResult => {
       try {
         setLoading(true);
         setError(null);
-        const response = await fetch("http://localhost:8080/api/venues");
+        // The backend returns the category buckets precomputed
+        const response = await fetch("http://localhost:8080/api/venues/home");
         if (!response.ok) {
           throw new Error("Failed to fetch venues");
         }
-        const data = await response.json();
-        setVenues(data);
+        const data: VenueCategories = await response.json();
+        setCategories({ ...EMPTY_CATEGORIES, ...data });
       } catch (err) {
         setError("Unable to load venues. Please try again later.");
         console.error("Error fetching venues:", err);
@@ -45,21 +56,8 @@ export const useVenues = (): UseVenuesResult => {
     fetchVenues();
   }, []);
 
-  // Filter the venues based on categories
-  const featuredVenues = venues.filter((venue) =>
-    ["Football Turf", "Auditorium"].includes(venue.type)
-  );
-  const turfEvents = venues.filter(
-    (venue) => venue.type === "Football Turf" || venue.type === "Cricket Turf"
-  );
-  const auditoriumEvents = venues.filter((venue) => venue.type === "Auditorium");
-  const otherEvents = venues.filter((venue) => venue.type === "Other Event");
-
   return {
-    featuredVenues,
-    turfEvents,
-    auditoriumEvents,
-    otherEvents,
+    ...categories,
     loading,
     error,
   };